@@ -0,0 +1,114 @@
+package com.cydeo.benchmark;
+
+import com.cydeo.cache.JwtAuthenticationCache;
+import com.cydeo.config.CachingProperties;
+import com.cydeo.security.CachingJwtAuthenticationManager;
+import com.cydeo.security.KeycloakJwtAuthenticationConverter;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenAuthenticationFilter;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthFilterBenchmark {
+
+    private static final String ISSUER = "http://localhost:8080/auth/realms/cydeo-dev";
+    private static final String CLIENT_ID = "ticketing-app";
+
+    private BearerTokenAuthenticationFilter uncachedFilter;
+    private BearerTokenAuthenticationFilter cachedFilter;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() throws Exception {
+
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+        keyPairGenerator.initialize(2048);
+        KeyPair keyPair = keyPairGenerator.generateKeyPair();
+
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(ISSUER)
+                .subject(UUID.randomUUID().toString())
+                .claim("preferred_username", "admin@cydeo.com")
+                .claim("resource_access", Map.of(CLIENT_ID, Map.of("roles", List.of("Admin"))))
+                .issueTime(new Date())
+                .expirationTime(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .build();
+
+        SignedJWT signedJwt = new SignedJWT(new JWSHeader(JWSAlgorithm.RS256), claims);
+        signedJwt.sign(new RSASSASigner(keyPair.getPrivate()));
+        authorizationHeader = "Bearer " + signedJwt.serialize();
+
+        NimbusJwtDecoder jwtDecoder = NimbusJwtDecoder.withPublicKey((RSAPublicKey) keyPair.getPublic()).build();
+        jwtDecoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(ISSUER));
+
+        KeycloakJwtAuthenticationConverter jwtAuthenticationConverter = new KeycloakJwtAuthenticationConverter(CLIENT_ID);
+
+        JwtAuthenticationProvider jwtAuthenticationProvider = new JwtAuthenticationProvider(jwtDecoder);
+        jwtAuthenticationProvider.setJwtAuthenticationConverter(jwtAuthenticationConverter);
+        uncachedFilter = new BearerTokenAuthenticationFilter(new ProviderManager(List.of(jwtAuthenticationProvider)));
+
+        CachingProperties cachingProperties = new CachingProperties();
+        cachingProperties.setAuthenticationMaxEntries(1000);
+        cachedFilter = new BearerTokenAuthenticationFilter(new CachingJwtAuthenticationManager(
+                jwtDecoder, jwtAuthenticationConverter, new JwtAuthenticationCache(cachingProperties)));
+
+    }
+
+    @Benchmark
+    public void anonymousRequest(Blackhole blackhole) throws Exception {
+        filter(cachedFilter, null, blackhole);
+    }
+
+    @Benchmark
+    public void uncachedBearerRequest(Blackhole blackhole) throws Exception {
+        filter(uncachedFilter, authorizationHeader, blackhole);
+    }
+
+    @Benchmark
+    public void cachedBearerRequest(Blackhole blackhole) throws Exception {
+        filter(cachedFilter, authorizationHeader, blackhole);
+    }
+
+    private void filter(BearerTokenAuthenticationFilter authenticationFilter, String authorization, Blackhole blackhole) throws Exception {
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/user/read/admin@cydeo.com");
+
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+
+        authenticationFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.cydeo.benchmark;
+
+import com.cydeo.dto.UserDTO;
+import com.cydeo.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchLookupBenchmark {
+
+    private static final int SEEDED_USERS = 2000;
+
+    @Param({"10", "100"})
+    private int lookupSize;
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private List<String> userNames;
+
+    @Setup
+    public void setUp() {
+
+        context = ServiceContext.start();
+        userService = context.getBean(UserService.class);
+
+        List<UserDTO> users = new ArrayList<>(SEEDED_USERS);
+
+        for (int i = 0; i < SEEDED_USERS; i++) {
+            UserDTO userDTO = Fixtures.newUserDTO(0, "l" + i + "@t.io");
+            userDTO.setId(null);
+            users.add(userDTO);
+        }
+
+        userService.createAll(users);
+
+        userNames = new ArrayList<>(lookupSize);
+
+        for (int i = 0; i < lookupSize; i++) {
+            userNames.add("l" + (i * (SEEDED_USERS / lookupSize)) + "@t.io");
+        }
+
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Map<String, UserDTO> readBatch() {
+        return userService.readByUserNames(userNames);
+    }
+
+    @Benchmark
+    public Map<String, UserDTO> readOneByOne() {
+        Map<String, UserDTO> users = new HashMap<>();
+        userNames.forEach(userName -> users.put(userName, userService.readByUserName(userName)));
+        return users;
+    }
+
+    @Benchmark
+    public Map<String, Boolean> checkBatch() {
+        return userService.checkByUserNames(userNames);
+    }
+
+    @Benchmark
+    public Map<String, Boolean> checkOneByOne() {
+        Map<String, Boolean> results = new HashMap<>();
+        userNames.forEach(userName -> results.put(userName, userService.checkByUserName(userName)));
+        return results;
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.cydeo.benchmark;
+
+import com.cydeo.dto.BulkUserResultDTO;
+import com.cydeo.dto.UserDTO;
+import com.cydeo.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BulkCreateBenchmark {
+
+    @Param({"100", "1000"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private long sequence;
+
+    @Setup
+    public void setUp() {
+        context = ServiceContext.start();
+        userService = context.getBean(UserService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BulkUserResultDTO> createAll(CreatedUsers createdUsers) {
+        List<BulkUserResultDTO> results = userService.createAll(newUsers());
+        createdUsers.users += results.size();
+        return results;
+    }
+
+    @Benchmark
+    public List<UserDTO> createOneByOne(CreatedUsers createdUsers) {
+        List<UserDTO> users = newUsers();
+        List<UserDTO> createdUserDTOs = new ArrayList<>(users.size());
+        users.forEach(userDTO -> createdUserDTOs.add(userService.create(userDTO)));
+        createdUsers.users += createdUserDTOs.size();
+        return createdUserDTOs;
+    }
+
+    private List<UserDTO> newUsers() {
+
+        List<UserDTO> users = new ArrayList<>(batchSize);
+
+        for (int i = 0; i < batchSize; i++) {
+            UserDTO userDTO = Fixtures.newUserDTO(0, "b" + sequence++ + "@t.io");
+            userDTO.setId(null);
+            users.add(userDTO);
+        }
+
+        return users;
+
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class CreatedUsers {
+
+        public long users;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            users = 0;
+        }
+
+    }
+
+}
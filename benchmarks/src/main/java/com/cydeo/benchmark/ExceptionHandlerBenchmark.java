@@ -0,0 +1,63 @@
+package com.cydeo.benchmark;
+
+import com.cydeo.controller.UserController;
+import com.cydeo.dto.UserDTO;
+import com.cydeo.dto.wrapper.ExceptionWrapper;
+import com.cydeo.exception.GlobalExceptionHandler;
+import com.cydeo.exception.UserNotFoundException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExceptionHandlerBenchmark {
+
+    private GlobalExceptionHandler exceptionHandler;
+    private ObjectWriter exceptionWriter;
+    private UserNotFoundException notFoundException;
+    private MethodArgumentNotValidException validationException;
+
+    @Setup
+    public void setUp() throws Exception {
+
+        exceptionHandler = new GlobalExceptionHandler();
+        exceptionWriter = Jackson2ObjectMapperBuilder.json().build().writerFor(ExceptionWrapper.class);
+        notFoundException = new UserNotFoundException("User not found!");
+
+        UserDTO userDTO = Fixtures.newUserDTO();
+        userDTO.setPassword("abc");
+        userDTO.setPhone("555");
+
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(userDTO, "userDTO");
+        bindingResult.addError(new FieldError("userDTO", "password", "abc", false, null, null,
+                "The password must be 4 characters or more, with at least 1 capital letter, 1 small letter, and 1 digit."));
+        bindingResult.addError(new FieldError("userDTO", "phone", "555", false, null, null,
+                "Phone number must include 10 digits."));
+
+        MethodParameter parameter = new MethodParameter(UserController.class.getMethod("createUser", UserDTO.class), 0);
+        validationException = new MethodArgumentNotValidException(parameter, bindingResult);
+
+    }
+
+    @Benchmark
+    public byte[] renderNotFound() throws Exception {
+        return exceptionWriter.writeValueAsBytes(exceptionHandler.handleNotFoundExceptions(notFoundException).getBody());
+    }
+
+    @Benchmark
+    public byte[] renderValidationErrors() throws Exception {
+        return exceptionWriter.writeValueAsBytes(exceptionHandler.handleValidationExceptions(validationException).getBody());
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.cydeo.benchmark;
+
+import com.cydeo.dto.RoleDTO;
+import com.cydeo.dto.UserDTO;
+import com.cydeo.entity.Role;
+import com.cydeo.entity.User;
+import com.cydeo.enums.Gender;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class Fixtures {
+
+    static final String USER_NAME = "admin@cydeo.com";
+
+    static final String USER_JSON = "{"
+            + "\"firstName\":\"Admin\","
+            + "\"lastName\":\"Admin\","
+            + "\"userName\":\"admin@cydeo.com\","
+            + "\"password\":\"Abc1\","
+            + "\"phone\":\"5552221133\","
+            + "\"enabled\":true,"
+            + "\"role\":\"Admin\","
+            + "\"gender\":\"MALE\""
+            + "}";
+
+    private Fixtures() {
+    }
+
+    static UserDTO newUserDTO() {
+        return newUserDTO(1L, USER_NAME);
+    }
+
+    static UserDTO newUserDTO(long id, String userName) {
+
+        UserDTO userDTO = new UserDTO();
+        userDTO.setId(id);
+        userDTO.setFirstName("Admin");
+        userDTO.setLastName("Admin");
+        userDTO.setUserName(userName);
+        userDTO.setPassword("Abc1");
+        userDTO.setPhone("5552221133");
+        userDTO.setEnabled(true);
+        userDTO.setGender(Gender.MALE);
+        userDTO.setRole(newRoleDTO());
+
+        return userDTO;
+
+    }
+
+    static List<UserDTO> newUserDTOs(int count) {
+
+        List<UserDTO> userDTOs = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            userDTOs.add(newUserDTO(i + 1, "user" + i + "@cydeo.com"));
+        }
+
+        return userDTOs;
+
+    }
+
+    static RoleDTO newRoleDTO() {
+        return new RoleDTO(1L, "Admin");
+    }
+
+    static User newUser() {
+
+        Role role = new Role();
+        role.setId(1L);
+        role.setDescription("Admin");
+
+        User user = new User();
+        user.setId(1L);
+        user.setKeycloakId("5f1e2d3c-4b5a-4697-8877-665544332211");
+        user.setFirstName("Admin");
+        user.setLastName("Admin");
+        user.setUserName(USER_NAME);
+        user.setPassword("Abc1");
+        user.setPhone("5552221133");
+        user.setEnabled(true);
+        user.setGender(Gender.MALE);
+        user.setRole(role);
+
+        return user;
+
+    }
+
+}
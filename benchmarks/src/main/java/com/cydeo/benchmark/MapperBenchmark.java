@@ -0,0 +1,58 @@
+package com.cydeo.benchmark;
+
+import com.cydeo.dto.UserDTO;
+import com.cydeo.entity.User;
+import com.cydeo.mapper.RoleMapper;
+import com.cydeo.mapper.UserMapper;
+import com.cydeo.util.MapperUtil;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    private ModelMapper modelMapper;
+    private MapperUtil mapperUtil;
+    private User user;
+    private UserDTO userDTO;
+
+    @Setup
+    public void setUp() {
+
+        RoleMapper roleMapper = new RoleMapper();
+        modelMapper = new ModelMapper();
+        mapperUtil = new MapperUtil(modelMapper, new UserMapper(roleMapper), roleMapper);
+
+        user = Fixtures.newUser();
+        userDTO = Fixtures.newUserDTO();
+
+    }
+
+    @Benchmark
+    public UserDTO entityToDto() {
+        return mapperUtil.convert(user, UserDTO.class);
+    }
+
+    @Benchmark
+    public User dtoToEntity() {
+        return mapperUtil.convert(userDTO, User.class);
+    }
+
+    @Benchmark
+    public UserDTO modelMapperEntityToDto() {
+        return modelMapper.map(user, new UserDTO().getClass());
+    }
+
+    @Benchmark
+    public User modelMapperDtoToEntity() {
+        return modelMapper.map(userDTO, new User().getClass());
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.cydeo.benchmark;
+
+import com.cydeo.dto.UserDTO;
+import com.cydeo.dto.wrapper.ResponseWrapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    private ObjectWriter responseWriter;
+    private UserDTO user;
+    private List<UserDTO> users;
+
+    @Param({"10000"})
+    private int userCount;
+
+    @Setup
+    public void setUp() {
+        responseWriter = Jackson2ObjectMapperBuilder.json().build().writerFor(ResponseWrapper.class);
+        user = Fixtures.newUserDTO();
+        users = Fixtures.newUserDTOs(userCount);
+    }
+
+    @Benchmark
+    public byte[] serializeUser() throws Exception {
+        return responseWriter.writeValueAsBytes(ResponseWrapper.builder()
+                .success(true)
+                .statusCode(HttpStatus.OK)
+                .message("User is successfully retrieved.")
+                .data(user)
+                .build());
+    }
+
+    @Benchmark
+    public byte[] serializeUsers() throws Exception {
+        return responseWriter.writeValueAsBytes(ResponseWrapper.builder()
+                .success(true)
+                .statusCode(HttpStatus.OK)
+                .message("Users are successfully retrieved.")
+                .data(users)
+                .build());
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.cydeo.benchmark;
+
+import com.cydeo.UserServiceApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+final class ServiceContext {
+
+    private ServiceContext() {
+    }
+
+    static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(UserServiceApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.data=classpath:fixtures/seed-data.sql",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.show-sql=false",
+                "--keycloak-sync.dispatch-interval=86400000",
+                "--keycloak-sync.cleanup-interval=86400000",
+                "--reconciliation.initial-delay=86400000");
+    }
+
+}
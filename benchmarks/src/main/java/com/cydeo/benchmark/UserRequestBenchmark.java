@@ -0,0 +1,137 @@
+package com.cydeo.benchmark;
+
+import com.cydeo.dto.RoleDTO;
+import com.cydeo.dto.UserDTO;
+import com.cydeo.service.RoleService;
+import com.cydeo.util.RoleDTODeserializer;
+import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.databind.cfg.HandlerInstantiator;
+import com.fasterxml.jackson.databind.cfg.MapperConfig;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.jsontype.TypeIdResolver;
+import com.fasterxml.jackson.databind.jsontype.TypeResolverBuilder;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserRequestBenchmark {
+
+    private static final String ROLE_JSON = "\"Admin\"";
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private ObjectReader userReader;
+    private ObjectReader roleReader;
+    private UserDTO userDTO;
+
+    @Setup
+    public void setUp() {
+
+        RoleDTO role = Fixtures.newRoleDTO();
+        RoleService roleService = description -> role;
+        RoleDTODeserializer roleDTODeserializer = new RoleDTODeserializer(roleService);
+
+        userReader = Jackson2ObjectMapperBuilder.json()
+                .handlerInstantiator(new RoleDTODeserializerInstantiator(roleDTODeserializer))
+                .build()
+                .readerFor(UserDTO.class);
+        roleReader = Jackson2ObjectMapperBuilder.json()
+                .deserializerByType(RoleDTO.class, roleDTODeserializer)
+                .build()
+                .readerFor(RoleDTO.class);
+
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+
+        userDTO = Fixtures.newUserDTO();
+
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public RoleDTO deserializeRole() throws Exception {
+        return roleReader.readValue(ROLE_JSON);
+    }
+
+    @Benchmark
+    public UserDTO deserializeUser() throws Exception {
+        return userReader.readValue(Fixtures.USER_JSON);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<UserDTO>> validateUser() {
+        return validator.validate(userDTO);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<UserDTO>> deserializeAndValidateUser() throws Exception {
+        return validator.validate(userReader.<UserDTO>readValue(Fixtures.USER_JSON));
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<UserDTO>> validatePasswordPattern() {
+        return validator.validateProperty(userDTO, "password");
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<UserDTO>> validatePhonePattern() {
+        return validator.validateProperty(userDTO, "phone");
+    }
+
+    private static class RoleDTODeserializerInstantiator extends HandlerInstantiator {
+
+        private final RoleDTODeserializer roleDTODeserializer;
+
+        private RoleDTODeserializerInstantiator(RoleDTODeserializer roleDTODeserializer) {
+            this.roleDTODeserializer = roleDTODeserializer;
+        }
+
+        @Override
+        public JsonDeserializer<?> deserializerInstance(DeserializationConfig config, Annotated annotated,
+                                                        Class<?> deserClass) {
+            return deserClass == RoleDTODeserializer.class ? roleDTODeserializer : null;
+        }
+
+        @Override
+        public KeyDeserializer keyDeserializerInstance(DeserializationConfig config, Annotated annotated,
+                                                       Class<?> keyDeserClass) {
+            return null;
+        }
+
+        @Override
+        public JsonSerializer<?> serializerInstance(SerializationConfig config, Annotated annotated,
+                                                    Class<?> serClass) {
+            return null;
+        }
+
+        @Override
+        public TypeResolverBuilder<?> typeResolverBuilderInstance(MapperConfig<?> config, Annotated annotated,
+                                                                  Class<?> builderClass) {
+            return null;
+        }
+
+        @Override
+        public TypeIdResolver typeIdResolverInstance(MapperConfig<?> config, Annotated annotated,
+                                                     Class<?> resolverClass) {
+            return null;
+        }
+
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.cydeo.benchmark;
+
+import com.cydeo.cache.CachedResponse;
+import com.cydeo.cache.UserResponseCache;
+import com.cydeo.config.CacheConfig;
+import com.cydeo.controller.UserController;
+import com.cydeo.dto.wrapper.ResponseWrapper;
+import com.cydeo.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserResponseBenchmark {
+
+    private static final String E_TAG = "\"1-5f1e2d3c4b5a6\"";
+
+    private CacheManager cacheManager;
+    private UserService userService;
+    private ObjectMapper objectMapper;
+    private UserController userController;
+
+    @Setup
+    public void setUp() {
+
+        CachingProvider cachingProvider = Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        cacheManager = cachingProvider.getCacheManager(cachingProvider.getDefaultURI(), getClass().getClassLoader());
+        cacheManager.createCache(CacheConfig.USER_RESPONSE_CACHE, Eh107Configuration.fromEhcacheCacheConfiguration(
+                CacheConfigurationBuilder.newCacheConfigurationBuilder(String.class, CachedResponse.class, ResourcePoolsBuilder.heap(100))
+                        .build()));
+
+        userService = (UserService) Proxy.newProxyInstance(UserService.class.getClassLoader(), new Class<?>[]{UserService.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "readETag":
+                            return Optional.of(E_TAG);
+                        case "readByUserName":
+                            return Fixtures.newUserDTO();
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        userController = new UserController(userService, objectMapper, new UserResponseCache(cacheManager));
+
+    }
+
+    @TearDown
+    public void tearDown() {
+        cacheManager.close();
+    }
+
+    @Benchmark
+    public byte[] serializeOnEveryRead() throws Exception {
+        return objectMapper.writeValueAsBytes(ResponseWrapper.builder()
+                .success(true)
+                .statusCode(HttpStatus.OK)
+                .message("User is successfully retrieved.")
+                .data(userService.readByUserName(Fixtures.USER_NAME))
+                .build());
+    }
+
+    @Benchmark
+    public byte[] preSerializedRead() {
+        return userController.getByUserName(Fixtures.USER_NAME,
+                new ServletWebRequest(new MockHttpServletRequest(), new MockHttpServletResponse())).getBody();
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.cydeo.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class LatencyRecorder {
+
+    private final String endpoint;
+    private final long[] latencies;
+    private final AtomicInteger count = new AtomicInteger();
+    private final AtomicLong errors = new AtomicLong();
+
+    public LatencyRecorder(String endpoint, int capacity) {
+        this.endpoint = endpoint;
+        this.latencies = new long[capacity];
+    }
+
+    public void record(long latencyNanos, boolean success) {
+        int index = count.getAndIncrement();
+        if (index < latencies.length) {
+            latencies[index] = latencyNanos;
+        }
+        if (!success) {
+            errors.incrementAndGet();
+        }
+    }
+
+    public String summarize(long elapsedNanos) {
+
+        int recorded = Math.min(count.get(), latencies.length);
+        long[] sorted = Arrays.copyOf(latencies, recorded);
+        Arrays.sort(sorted);
+
+        double throughput = recorded / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1));
+
+        return String.format("%-10s %8d %7d %10.1f %10.2f %10.2f %10.2f",
+                endpoint, recorded, errors.get(), throughput,
+                toMillis(percentile(sorted, 0.50)), toMillis(percentile(sorted, 0.99)),
+                toMillis(recorded == 0 ? 0 : sorted[recorded - 1]));
+
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)];
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+}
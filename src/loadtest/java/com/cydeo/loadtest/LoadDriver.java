@@ -0,0 +1,193 @@
+package com.cydeo.loadtest;
+
+import com.cydeo.config.KeycloakProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+@Slf4j
+@Component
+@Profile("loadtest")
+public class LoadDriver {
+
+    private static final String BASE_PATH = "/api/v1/user";
+    private static final List<String> ENDPOINTS = List.of("create", "read", "read-all", "check", "update", "delete");
+
+    private final LoadTestProperties loadTestProperties;
+    private final KeycloakProperties keycloakProperties;
+    private final StubKeycloakServer stubKeycloakServer;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+
+    private final Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+    private volatile long measurementStart;
+
+    private String baseUrl;
+    private String authorizationHeader;
+
+    public LoadDriver(LoadTestProperties loadTestProperties, KeycloakProperties keycloakProperties,
+                      StubKeycloakServer stubKeycloakServer, ObjectMapper objectMapper) {
+        this.loadTestProperties = loadTestProperties;
+        this.keycloakProperties = keycloakProperties;
+        this.stubKeycloakServer = stubKeycloakServer;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+
+        ConfigurableApplicationContext applicationContext = event.getApplicationContext();
+        baseUrl = "http://localhost:" + applicationContext.getEnvironment().getProperty("local.server.port") + BASE_PATH;
+        authorizationHeader = "Bearer " + stubKeycloakServer.issueAccessToken(keycloakProperties.getRealm(),
+                keycloakProperties.getClientId(), "loadtest-admin", List.of("Admin", "Manager"), 86400);
+
+        Thread driverThread = new Thread(() -> {
+            int exitCode = 0;
+            try {
+                run();
+            } catch (Exception exception) {
+                exitCode = 1;
+                log.error("Load test failed.", exception);
+            }
+            if (loadTestProperties.isDriverExitOnCompletion()) {
+                int code = exitCode;
+                System.exit(SpringApplication.exit(applicationContext, () -> code));
+            }
+        }, "load-driver");
+
+        driverThread.start();
+
+    }
+
+    private void run() throws Exception {
+
+        int threads = loadTestProperties.getDriverThreads();
+        int iterations = loadTestProperties.getDriverIterations();
+
+        ENDPOINTS.forEach(endpoint -> recorders.put(endpoint, new LatencyRecorder(endpoint, threads * iterations)));
+
+        log.info("Starting load test against {} with {} threads, {} warmup and {} measured iterations per thread.",
+                baseUrl, threads, loadTestProperties.getDriverWarmupIterations(), iterations);
+
+        CyclicBarrier warmedUp = new CyclicBarrier(threads, () -> measurementStart = System.nanoTime());
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> virtualUsers = new ArrayList<>();
+
+        for (int thread = 0; thread < threads; thread++) {
+            int virtualUser = thread;
+            virtualUsers.add(executor.submit(() -> {
+                runIterations(virtualUser, 0, loadTestProperties.getDriverWarmupIterations(), false);
+                warmedUp.await();
+                runIterations(virtualUser, loadTestProperties.getDriverWarmupIterations(), iterations, true);
+                return null;
+            }));
+        }
+
+        try {
+            for (Future<?> virtualUser : virtualUsers) {
+                virtualUser.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long elapsed = System.nanoTime() - measurementStart;
+
+        StringBuilder report = new StringBuilder(String.format("%nLoad test finished in %.1f s%n", elapsed / 1e9))
+                .append(String.format("%-10s %8s %7s %10s %10s %10s %10s%n",
+                        "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms"));
+        recorders.values().forEach(recorder -> report.append(recorder.summarize(elapsed)).append(System.lineSeparator()));
+
+        log.info(report.toString());
+
+    }
+
+    private void runIterations(int virtualUser, int firstIteration, int count, boolean measured) {
+
+        for (int iteration = firstIteration; iteration < firstIteration + count; iteration++) {
+
+            String userName = "lt" + virtualUser + "x" + iteration + "@t.io";
+
+            call("create", measured, request("/create").POST(json(newUser(userName, "Load"))));
+            call("read", measured, request("/read/" + userName).GET());
+            call("read-all", measured, request("/read/all").GET());
+            call("check", measured, request("/check/" + userName).GET());
+            call("update", measured, request("/update/" + userName).PUT(json(newUser(userName, "Updated"))));
+            call("delete", measured, request("/delete/" + userName).DELETE());
+
+        }
+
+    }
+
+    private void call(String endpoint, boolean measured, HttpRequest.Builder request) {
+
+        long start = System.nanoTime();
+        boolean success;
+
+        try {
+            HttpResponse<Void> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.discarding());
+            success = response.statusCode() < 400;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Load driver interrupted.");
+        } catch (Exception exception) {
+            success = false;
+        }
+
+        if (measured) {
+            recorders.get(endpoint).record(System.nanoTime() - start, success);
+        }
+
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", authorizationHeader)
+                .header("Content-Type", "application/json");
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (JsonProcessingException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private Map<String, Object> newUser(String userName, String firstName) {
+
+        Map<String, Object> user = new LinkedHashMap<>();
+        user.put("firstName", firstName);
+        user.put("lastName", "Tester");
+        user.put("userName", userName);
+        user.put("password", "Abc1");
+        user.put("phone", "5551234567");
+        user.put("enabled", true);
+        user.put("role", "Employee");
+        user.put("gender", "MALE");
+
+        return user;
+
+    }
+
+}
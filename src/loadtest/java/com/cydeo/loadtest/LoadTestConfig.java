@@ -0,0 +1,31 @@
+package com.cydeo.loadtest;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+@Configuration
+@Profile("loadtest")
+public class LoadTestConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public StubKeycloakServer stubKeycloakServer(LoadTestProperties loadTestProperties) {
+        return new StubKeycloakServer(loadTestProperties.getKeycloakPort(), loadTestProperties.getKeycloakLatency(),
+                loadTestProperties.getKeycloakErrorRate(), loadTestProperties.getStubThreads());
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public StubCountServer projectServiceStub(LoadTestProperties loadTestProperties) {
+        return new StubCountServer("project-service", loadTestProperties.getProjectServicePort(),
+                loadTestProperties.getProjectServiceLatency(), loadTestProperties.getProjectServiceErrorRate(),
+                loadTestProperties.getStubThreads());
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public StubCountServer taskServiceStub(LoadTestProperties loadTestProperties) {
+        return new StubCountServer("task-service", loadTestProperties.getTaskServicePort(),
+                loadTestProperties.getTaskServiceLatency(), loadTestProperties.getTaskServiceErrorRate(),
+                loadTestProperties.getStubThreads());
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.cydeo.loadtest;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+@Component
+@Profile("loadtest")
+@Getter
+@Setter
+public class LoadTestProperties {
+
+    @Value("${loadtest.stub-threads:64}")
+    private int stubThreads;
+
+    @Value("${loadtest.keycloak.port:18080}")
+    private int keycloakPort;
+
+    @Value("${loadtest.keycloak.latency:20}")
+    private long keycloakLatency;
+
+    @Value("${loadtest.keycloak.error-rate:0}")
+    private double keycloakErrorRate;
+
+    @Value("${loadtest.project-service.port:18082}")
+    private int projectServicePort;
+
+    @Value("${loadtest.project-service.latency:30}")
+    private long projectServiceLatency;
+
+    @Value("${loadtest.project-service.error-rate:0.01}")
+    private double projectServiceErrorRate;
+
+    @Value("${loadtest.task-service.port:18083}")
+    private int taskServicePort;
+
+    @Value("${loadtest.task-service.latency:30}")
+    private long taskServiceLatency;
+
+    @Value("${loadtest.task-service.error-rate:0.01}")
+    private double taskServiceErrorRate;
+
+    @Value("${loadtest.driver.threads:16}")
+    private int driverThreads;
+
+    @Value("${loadtest.driver.warmup-iterations:20}")
+    private int driverWarmupIterations;
+
+    @Value("${loadtest.driver.iterations:200}")
+    private int driverIterations;
+
+    @Value("${loadtest.driver.exit-on-completion:true}")
+    private boolean driverExitOnCompletion;
+
+}
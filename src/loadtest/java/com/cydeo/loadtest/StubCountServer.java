@@ -0,0 +1,30 @@
+package com.cydeo.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.util.Map;
+
+public class StubCountServer extends StubHttpServer {
+
+    public StubCountServer(String name, int port, long latencyMillis, double errorRate, int threads) {
+        super(name, port, latencyMillis, errorRate, threads);
+    }
+
+    @Override
+    protected void handle(HttpExchange exchange) throws IOException {
+
+        if (!"GET".equals(exchange.getRequestMethod())) {
+            respond(exchange, 405, null);
+            return;
+        }
+
+        respond(exchange, 200, Map.of(
+                "success", true,
+                "statusCode", "OK",
+                "message", "Count is successfully retrieved.",
+                "data", 0));
+
+    }
+
+}
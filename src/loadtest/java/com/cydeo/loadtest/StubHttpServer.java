@@ -0,0 +1,149 @@
+package com.cydeo.loadtest;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Slf4j
+public abstract class StubHttpServer {
+
+    protected final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final String name;
+    private final int port;
+    private final long latencyMillis;
+    private final double errorRate;
+    private final int threads;
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    protected StubHttpServer(String name, int port, long latencyMillis, double errorRate, int threads) {
+        this.name = name;
+        this.port = port;
+        this.latencyMillis = latencyMillis;
+        this.errorRate = errorRate;
+        this.threads = threads;
+    }
+
+    public void start() throws IOException {
+        executor = Executors.newFixedThreadPool(threads);
+        server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.createContext("/", this::dispatch);
+        server.setExecutor(executor);
+        server.start();
+        log.info("Started {} stub on port {} (latency {} ms, error rate {}).", name, port, latencyMillis, errorRate);
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    protected abstract void handle(HttpExchange exchange) throws IOException;
+
+    protected void respond(HttpExchange exchange, int status, Object body) throws IOException {
+
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+
+        byte[] bytes = body instanceof String
+                ? ((String) body).getBytes(StandardCharsets.UTF_8)
+                : objectMapper.writeValueAsBytes(body);
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(bytes);
+        }
+
+    }
+
+    protected <T> T readBody(HttpExchange exchange, Class<T> type) throws IOException {
+        try (InputStream requestBody = exchange.getRequestBody()) {
+            return objectMapper.readValue(requestBody, type);
+        }
+    }
+
+    protected <T> T readBody(HttpExchange exchange, TypeReference<T> type) throws IOException {
+        try (InputStream requestBody = exchange.getRequestBody()) {
+            return objectMapper.readValue(requestBody, type);
+        }
+    }
+
+    protected Map<String, String> readForm(HttpExchange exchange) throws IOException {
+        try (InputStream requestBody = exchange.getRequestBody()) {
+            return parseParameters(new String(requestBody.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    protected Map<String, String> queryParameters(HttpExchange exchange) {
+        return parseParameters(exchange.getRequestURI().getRawQuery());
+    }
+
+    private void dispatch(HttpExchange exchange) {
+
+        try {
+            if (latencyMillis > 0) {
+                Thread.sleep(latencyMillis);
+            }
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                respond(exchange, 500, Map.of("error", "Simulated " + name + " failure"));
+            } else {
+                handle(exchange);
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } catch (Exception exception) {
+            log.error("{} stub failed to handle {} {}.", name, exchange.getRequestMethod(), exchange.getRequestURI(), exception);
+            try {
+                respond(exchange, 500, Map.of("error", String.valueOf(exception.getMessage())));
+            } catch (IOException ignored) {
+            }
+        } finally {
+            exchange.close();
+        }
+
+    }
+
+    private static Map<String, String> parseParameters(String encoded) {
+
+        Map<String, String> parameters = new HashMap<>();
+
+        if (encoded == null || encoded.isEmpty()) {
+            return parameters;
+        }
+
+        for (String pair : encoded.split("&")) {
+            int separator = pair.indexOf('=');
+            String key = separator < 0 ? pair : pair.substring(0, separator);
+            String value = separator < 0 ? "" : pair.substring(separator + 1);
+            parameters.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+
+        return parameters;
+
+    }
+
+}
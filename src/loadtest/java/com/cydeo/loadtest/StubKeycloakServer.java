@@ -0,0 +1,279 @@
+package com.cydeo.loadtest;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpExchange;
+import org.keycloak.representations.AccessTokenResponse;
+import org.keycloak.representations.idm.ClientRepresentation;
+import org.keycloak.representations.idm.RoleRepresentation;
+import org.keycloak.representations.idm.UserRepresentation;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+public class StubKeycloakServer extends StubHttpServer {
+
+    private static final String CONTEXT_PATH = "/auth";
+    private static final long ACCESS_TOKEN_LIFESPAN = 300;
+
+    private static final Pattern TOKEN = Pattern.compile("^/auth/realms/([^/]+)/protocol/openid-connect/token$");
+    private static final Pattern CERTS = Pattern.compile("^/auth/realms/([^/]+)/protocol/openid-connect/certs$");
+    private static final Pattern CLIENTS = Pattern.compile("^/auth/admin/realms/[^/]+/clients$");
+    private static final Pattern CLIENT_ROLES = Pattern.compile("^/auth/admin/realms/[^/]+/clients/[^/]+/roles$");
+    private static final Pattern CLIENT_ROLE = Pattern.compile("^/auth/admin/realms/[^/]+/clients/[^/]+/roles/([^/]+)$");
+    private static final Pattern USERS = Pattern.compile("^/auth/admin/realms/([^/]+)/users$");
+    private static final Pattern USER = Pattern.compile("^/auth/admin/realms/[^/]+/users/([^/]+)$");
+    private static final Pattern RESET_PASSWORD = Pattern.compile("^/auth/admin/realms/[^/]+/users/([^/]+)/reset-password$");
+    private static final Pattern CLIENT_ROLE_MAPPINGS =
+            Pattern.compile("^/auth/admin/realms/[^/]+/users/([^/]+)/role-mappings/clients/[^/]+$");
+
+    private final RSAKey signingKey;
+    private final String clientUuid = UUID.randomUUID().toString();
+    private final Map<String, RoleRepresentation> clientRoles = new LinkedHashMap<>();
+    private final Map<String, UserRepresentation> usersById = new ConcurrentHashMap<>();
+    private final Map<String, String> userIdsByUserName = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> roleNamesByUserId = new ConcurrentHashMap<>();
+
+    public StubKeycloakServer(int port, long latencyMillis, double errorRate, int threads) {
+
+        super("keycloak", port, latencyMillis, errorRate, threads);
+
+        try {
+            this.signingKey = new RSAKeyGenerator(2048).keyID("loadtest").generate();
+        } catch (JOSEException exception) {
+            throw new IllegalStateException("Could not generate the stub Keycloak signing key.", exception);
+        }
+
+        for (String roleName : Arrays.asList("Admin", "Manager", "Employee")) {
+            RoleRepresentation role = new RoleRepresentation(roleName, null, false);
+            role.setId(UUID.randomUUID().toString());
+            role.setClientRole(true);
+            role.setContainerId(clientUuid);
+            clientRoles.put(roleName, role);
+        }
+
+    }
+
+    public String issueAccessToken(String realm, String clientId, String userName, List<String> roles,
+                                   long lifespanSeconds) {
+
+        Instant now = Instant.now();
+
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer("http://localhost:" + getPort() + CONTEXT_PATH + "/realms/" + realm)
+                .subject(UUID.nameUUIDFromBytes(userName.getBytes()).toString())
+                .audience(clientId)
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plusSeconds(lifespanSeconds)))
+                .claim("azp", clientId)
+                .claim("preferred_username", userName)
+                .claim("resource_access", Map.of(clientId, Map.of("roles", roles)))
+                .build();
+
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256)
+                .keyID(signingKey.getKeyID())
+                .type(JOSEObjectType.JWT)
+                .build(), claims);
+
+        try {
+            jwt.sign(new RSASSASigner(signingKey));
+        } catch (JOSEException exception) {
+            throw new IllegalStateException("Could not sign the stub access token.", exception);
+        }
+
+        return jwt.serialize();
+
+    }
+
+    @Override
+    protected void handle(HttpExchange exchange) throws IOException {
+
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        Matcher matcher;
+
+        if ((matcher = TOKEN.matcher(path)).matches() && "POST".equals(method)) {
+            handleToken(exchange, matcher.group(1));
+        } else if ((matcher = CERTS.matcher(path)).matches()) {
+            respond(exchange, 200, new JWKSet(signingKey.toPublicJWK()).toString());
+        } else if (CLIENTS.matcher(path).matches()) {
+            handleClients(exchange);
+        } else if (CLIENT_ROLES.matcher(path).matches()) {
+            respond(exchange, 200, clientRoles.values());
+        } else if ((matcher = CLIENT_ROLE.matcher(path)).matches()) {
+            RoleRepresentation role = clientRoles.get(matcher.group(1));
+            respond(exchange, role == null ? 404 : 200, role);
+        } else if ((matcher = USERS.matcher(path)).matches()) {
+            handleUsers(exchange, matcher.group(1));
+        } else if ((matcher = RESET_PASSWORD.matcher(path)).matches()) {
+            respond(exchange, usersById.containsKey(matcher.group(1)) ? 204 : 404, null);
+        } else if ((matcher = CLIENT_ROLE_MAPPINGS.matcher(path)).matches()) {
+            handleRoleMappings(exchange, matcher.group(1));
+        } else if ((matcher = USER.matcher(path)).matches()) {
+            handleUser(exchange, matcher.group(1));
+        } else {
+            respond(exchange, 404, null);
+        }
+
+    }
+
+    private void handleToken(HttpExchange exchange, String realm) throws IOException {
+
+        Map<String, String> form = readForm(exchange);
+        String clientId = form.getOrDefault("client_id", "admin-cli");
+        String userName = form.containsKey("username") ? form.get("username") : "service-account-" + clientId;
+
+        AccessTokenResponse tokenResponse = new AccessTokenResponse();
+        tokenResponse.setToken(issueAccessToken(realm, clientId, userName, List.of("Admin"), ACCESS_TOKEN_LIFESPAN));
+        tokenResponse.setExpiresIn(ACCESS_TOKEN_LIFESPAN);
+        tokenResponse.setRefreshToken(UUID.randomUUID().toString());
+        tokenResponse.setRefreshExpiresIn(ACCESS_TOKEN_LIFESPAN * 6);
+        tokenResponse.setTokenType("Bearer");
+
+        respond(exchange, 200, tokenResponse);
+
+    }
+
+    private void handleClients(HttpExchange exchange) throws IOException {
+
+        ClientRepresentation client = new ClientRepresentation();
+        client.setId(clientUuid);
+        client.setClientId(queryParameters(exchange).get("clientId"));
+
+        respond(exchange, 200, List.of(client));
+
+    }
+
+    private void handleUsers(HttpExchange exchange, String realm) throws IOException {
+
+        if ("POST".equals(exchange.getRequestMethod())) {
+
+            UserRepresentation user = readBody(exchange, UserRepresentation.class);
+            String userId = UUID.randomUUID().toString();
+            user.setId(userId);
+            user.setCredentials(null);
+
+            if (userIdsByUserName.putIfAbsent(user.getUsername().toLowerCase(Locale.ROOT), userId) != null) {
+                respond(exchange, 409, Map.of("errorMessage", "User exists with same username"));
+                return;
+            }
+
+            usersById.put(userId, user);
+            exchange.getResponseHeaders().set("Location",
+                    "http://localhost:" + getPort() + CONTEXT_PATH + "/admin/realms/" + realm + "/users/" + userId);
+            respond(exchange, 201, null);
+            return;
+
+        }
+
+        Map<String, String> query = queryParameters(exchange);
+        List<UserRepresentation> users;
+
+        if (query.containsKey("username") && Boolean.parseBoolean(query.get("exact"))) {
+            String userId = userIdsByUserName.get(query.get("username").toLowerCase(Locale.ROOT));
+            users = userId == null || !usersById.containsKey(userId)
+                    ? List.of() : List.of(usersById.get(userId));
+        } else {
+            String search = query.getOrDefault("username", query.getOrDefault("search", "")).toLowerCase(Locale.ROOT);
+            int first = Integer.parseInt(query.getOrDefault("first", "0"));
+            int max = Integer.parseInt(query.getOrDefault("max", "100"));
+            users = usersById.values().stream()
+                    .filter(user -> user.getUsername().toLowerCase(Locale.ROOT).contains(search))
+                    .sorted(Comparator.comparing(user -> user.getUsername().toLowerCase(Locale.ROOT)))
+                    .skip(first)
+                    .limit(max)
+                    .collect(Collectors.toList());
+        }
+
+        respond(exchange, 200, users);
+
+    }
+
+    private void handleUser(HttpExchange exchange, String userId) throws IOException {
+
+        UserRepresentation user = usersById.get(userId);
+
+        if (user == null) {
+            respond(exchange, 404, null);
+            return;
+        }
+
+        switch (exchange.getRequestMethod()) {
+            case "GET":
+                respond(exchange, 200, user);
+                break;
+            case "PUT":
+                UserRepresentation update = readBody(exchange, UserRepresentation.class);
+                Optional.ofNullable(update.getFirstName()).ifPresent(user::setFirstName);
+                Optional.ofNullable(update.getLastName()).ifPresent(user::setLastName);
+                Optional.ofNullable(update.getEmail()).ifPresent(user::setEmail);
+                Optional.ofNullable(update.isEnabled()).ifPresent(user::setEnabled);
+                respond(exchange, 204, null);
+                break;
+            case "DELETE":
+                usersById.remove(userId);
+                userIdsByUserName.remove(user.getUsername().toLowerCase(Locale.ROOT), userId);
+                roleNamesByUserId.remove(userId);
+                respond(exchange, 204, null);
+                break;
+            default:
+                respond(exchange, 405, null);
+        }
+
+    }
+
+    private void handleRoleMappings(HttpExchange exchange, String userId) throws IOException {
+
+        if (!usersById.containsKey(userId)) {
+            respond(exchange, 404, null);
+            return;
+        }
+
+        Set<String> roleNames = roleNamesByUserId.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet());
+
+        switch (exchange.getRequestMethod()) {
+            case "GET":
+                respond(exchange, 200, roleNames.stream()
+                        .map(clientRoles::get)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toList()));
+                break;
+            case "POST":
+                readRoles(exchange).forEach(role -> roleNames.add(role.getName()));
+                respond(exchange, 204, null);
+                break;
+            case "DELETE":
+                readRoles(exchange).forEach(role -> roleNames.remove(role.getName()));
+                respond(exchange, 204, null);
+                break;
+            default:
+                respond(exchange, 405, null);
+        }
+
+    }
+
+    private List<RoleRepresentation> readRoles(HttpExchange exchange) {
+        try {
+            return readBody(exchange, new TypeReference<List<RoleRepresentation>>() {
+            });
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+}
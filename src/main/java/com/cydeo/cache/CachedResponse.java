@@ -0,0 +1,13 @@
+package com.cydeo.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public final class CachedResponse {
+
+    private final String eTag;
+    private final byte[] body;
+
+}
@@ -0,0 +1,62 @@
+package com.cydeo.cache;
+
+import com.cydeo.config.CachingProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class JwtAuthenticationCache {
+
+    private final Map<String, JwtAuthenticationToken> authentications = new ConcurrentHashMap<>();
+    private final int maxEntries;
+
+    public JwtAuthenticationCache(CachingProperties cachingProperties) {
+        this.maxEntries = cachingProperties.getAuthenticationMaxEntries();
+    }
+
+    public JwtAuthenticationToken get(String token) {
+
+        JwtAuthenticationToken authentication = authentications.get(token);
+
+        if (authentication != null && isExpired(authentication, Instant.now())) {
+            authentications.remove(token, authentication);
+            return null;
+        }
+
+        return authentication;
+
+    }
+
+    public void put(String token, JwtAuthenticationToken authentication) {
+
+        if (authentication.getToken().getExpiresAt() == null) {
+            return;
+        }
+
+        if (authentications.size() >= maxEntries) {
+            evictExpired();
+            if (authentications.size() >= maxEntries) {
+                return;
+            }
+        }
+
+        authentications.put(token, authentication);
+
+    }
+
+    @Scheduled(fixedDelayString = "${caching.authentication.eviction-interval:60000}")
+    public void evictExpired() {
+        Instant now = Instant.now();
+        authentications.values().removeIf(authentication -> isExpired(authentication, now));
+    }
+
+    private boolean isExpired(JwtAuthenticationToken authentication, Instant now) {
+        return !now.isBefore(authentication.getToken().getExpiresAt());
+    }
+
+}
@@ -0,0 +1,124 @@
+package com.cydeo.cache;
+
+import com.cydeo.config.KeycloakProperties;
+import com.cydeo.metrics.CallMetrics;
+import io.micrometer.core.instrument.Tags;
+import org.keycloak.admin.client.resource.RealmResource;
+import org.keycloak.representations.idm.ClientRepresentation;
+import org.keycloak.representations.idm.RoleRepresentation;
+import org.springframework.stereotype.Component;
+
+import javax.ws.rs.NotFoundException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Component
+public class KeycloakClientCache {
+
+    private final Map<String, CachedClient> clients = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final CallMetrics callMetrics;
+
+    public KeycloakClientCache(KeycloakProperties keycloakProperties, CallMetrics callMetrics) {
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(keycloakProperties.getClientCacheTtl());
+        this.callMetrics = callMetrics;
+    }
+
+    public String getClientUuid(RealmResource realmResource, String realm, String clientId) {
+        return getClient(realmResource, realm, clientId).uuid;
+    }
+
+    public RoleRepresentation getRole(RealmResource realmResource, String realm, String clientId, String roleName) {
+
+        CachedClient client = getClient(realmResource, realm, clientId);
+        RoleRepresentation role = client.roles.get(roleName);
+
+        if (role != null) {
+            return role;
+        }
+
+        try {
+            return loadRole(realmResource, client, roleName);
+        } catch (NotFoundException exception) {
+            invalidate(realm, clientId);
+            return loadRole(realmResource, getClient(realmResource, realm, clientId), roleName);
+        }
+
+    }
+
+    public void invalidate(String realm, String clientId) {
+        clients.remove(key(realm, clientId));
+    }
+
+    private CachedClient getClient(RealmResource realmResource, String realm, String clientId) {
+
+        String key = key(realm, clientId);
+        CachedClient cachedClient = clients.get(key);
+
+        if (cachedClient != null && !cachedClient.isExpired()) {
+            return cachedClient;
+        }
+
+        CachedClient loadedClient = loadClient(realmResource, clientId);
+
+        return clients.compute(key, (clientKey, currentClient) ->
+                currentClient == null || currentClient == cachedClient || currentClient.isExpired()
+                        ? loadedClient : currentClient);
+
+    }
+
+    private CachedClient loadClient(RealmResource realmResource, String clientId) {
+
+        List<ClientRepresentation> appClients = adminCall("client-lookup",
+                () -> realmResource.clients().findByClientId(clientId));
+
+        if (appClients.isEmpty()) {
+            throw new NotFoundException("Keycloak client " + clientId + " does not exist.");
+        }
+
+        CachedClient client = new CachedClient(appClients.get(0).getId(), System.currentTimeMillis() + ttlMillis);
+
+        adminCall("client-role-list", () -> realmResource.clients().get(client.uuid).roles().list())
+                .forEach(role -> client.roles.put(role.getName(), role));
+
+        return client;
+
+    }
+
+    private RoleRepresentation loadRole(RealmResource realmResource, CachedClient client, String roleName) {
+        RoleRepresentation role = adminCall("client-role-lookup",
+                () -> realmResource.clients().get(client.uuid).roles().get(roleName).toRepresentation());
+        client.roles.put(roleName, role);
+        return role;
+    }
+
+    private String key(String realm, String clientId) {
+        return realm + "/" + clientId;
+    }
+
+    private <T> T adminCall(String operation, Supplier<T> call) {
+        return callMetrics.record("keycloak.admin.requests", "Duration of Keycloak admin API calls",
+                Tags.of("operation", operation), call);
+    }
+
+    private static class CachedClient {
+
+        private final String uuid;
+        private final long expiresAt;
+        private final Map<String, RoleRepresentation> roles = new ConcurrentHashMap<>();
+
+        private CachedClient(String uuid, long expiresAt) {
+            this.uuid = uuid;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+
+    }
+
+}
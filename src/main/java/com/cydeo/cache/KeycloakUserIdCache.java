@@ -0,0 +1,30 @@
+package com.cydeo.cache;
+
+import com.cydeo.config.CacheConfig;
+import org.springframework.stereotype.Component;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+
+@Component
+public class KeycloakUserIdCache {
+
+    private final Cache<String, String> cache;
+
+    public KeycloakUserIdCache(CacheManager jCacheManager) {
+        this.cache = jCacheManager.getCache(CacheConfig.KEYCLOAK_USER_ID_CACHE, String.class, String.class);
+    }
+
+    public String get(String userName) {
+        return cache.get(userName);
+    }
+
+    public void put(String userName, String keycloakId) {
+        cache.put(userName, keycloakId);
+    }
+
+    public void evict(String userName) {
+        cache.remove(userName);
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.cydeo.cache;
+
+import com.cydeo.entity.Role;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+@Component
+public class RoleChangeListener {
+
+    private final ObjectProvider<RoleRegistry> roleRegistry;
+
+    public RoleChangeListener(ObjectProvider<RoleRegistry> roleRegistry) {
+        this.roleRegistry = roleRegistry;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onRoleChange(Role role) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            roleRegistry.getObject().refresh();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                roleRegistry.getObject().refresh();
+            }
+        });
+
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.cydeo.cache;
+
+import com.cydeo.dto.RoleDTO;
+import com.cydeo.entity.Role;
+import com.cydeo.repository.RoleRepository;
+import com.cydeo.util.MapperUtil;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Component
+public class RoleRegistry {
+
+    private final RoleRepository roleRepository;
+    private final MapperUtil mapperUtil;
+
+    private volatile Map<String, RoleDTO> rolesByDescription = Map.of();
+
+    public RoleRegistry(RoleRepository roleRepository, MapperUtil mapperUtil) {
+        this.roleRepository = roleRepository;
+        this.mapperUtil = mapperUtil;
+    }
+
+    public Optional<RoleDTO> findByDescription(String description) {
+
+        if (description == null) {
+            return Optional.empty();
+        }
+
+        RoleDTO role = rolesByDescription.get(description.toLowerCase(Locale.ROOT));
+
+        return role == null ? Optional.empty() : Optional.of(new RoleDTO(role.getId(), role.getDescription()));
+
+    }
+
+    /**
+     * Rebuilds the registry and swaps it in, so lookups keep using the previous map until the new one
+     * is loaded. Runs in its own transaction because it is also called after a role write has committed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${role-registry.refresh-interval:300000}")
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void refresh() {
+        Map<String, RoleDTO> roles = roleRepository.findAll().stream()
+                .filter(role -> !Boolean.TRUE.equals(role.getIsDeleted()))
+                .collect(Collectors.toMap(role -> role.getDescription().toLowerCase(Locale.ROOT),
+                        role -> mapperUtil.convert(role, RoleDTO.class), (first, second) -> first));
+        rolesByDescription = Map.copyOf(roles);
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.cydeo.cache;
+
+import com.cydeo.config.CacheConfig;
+import org.springframework.stereotype.Component;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+
+@Component
+public class UserExistenceCache {
+
+    private final Cache<String, Boolean> cache;
+
+    public UserExistenceCache(CacheManager jCacheManager) {
+        this.cache = jCacheManager.getCache(CacheConfig.USER_EXISTENCE_CACHE, String.class, Boolean.class);
+    }
+
+    public Boolean get(String userName) {
+        return cache.get(userName);
+    }
+
+    public void put(String userName, boolean exists) {
+        cache.put(userName, exists);
+    }
+
+    public void evict(String userName) {
+        cache.remove(userName);
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.cydeo.cache;
+
+import com.cydeo.config.CacheConfig;
+import org.springframework.stereotype.Component;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+
+@Component
+public class UserResponseCache {
+
+    private static final String USER_KEY_PREFIX = "user:";
+    private static final String ALL_USERS_KEY = "all";
+    private static final String PAGE_KEY_PREFIX = "page:";
+
+    private final Cache<String, CachedResponse> cache;
+
+    public UserResponseCache(CacheManager jCacheManager) {
+        this.cache = jCacheManager.getCache(CacheConfig.USER_RESPONSE_CACHE, String.class, CachedResponse.class);
+    }
+
+    public byte[] getUser(String userName, String eTag) {
+        return get(USER_KEY_PREFIX + userName, eTag);
+    }
+
+    public void putUser(String userName, String eTag, byte[] body) {
+        cache.put(USER_KEY_PREFIX + userName, new CachedResponse(eTag, body));
+    }
+
+    public void evictUser(String userName) {
+        cache.remove(USER_KEY_PREFIX + userName);
+    }
+
+    public byte[] getAllUsers(String eTag) {
+        return get(ALL_USERS_KEY, eTag);
+    }
+
+    public void putAllUsers(String eTag, byte[] body) {
+        cache.put(ALL_USERS_KEY, new CachedResponse(eTag, body));
+    }
+
+    public byte[] getPage(String pageToken, Integer size, String eTag) {
+        return get(pageKey(pageToken, size), eTag);
+    }
+
+    public void putPage(String pageToken, Integer size, String eTag, byte[] body) {
+        cache.put(pageKey(pageToken, size), new CachedResponse(eTag, body));
+    }
+
+    private byte[] get(String key, String eTag) {
+        CachedResponse cachedResponse = cache.get(key);
+        return cachedResponse != null && cachedResponse.getETag().equals(eTag) ? cachedResponse.getBody() : null;
+    }
+
+    private String pageKey(String pageToken, Integer size) {
+        return PAGE_KEY_PREFIX + (pageToken == null ? "" : pageToken) + ":" + (size == null ? "" : size);
+    }
+
+}
@@ -0,0 +1,161 @@
+package com.cydeo.client;
+
+import com.cydeo.config.KeycloakProperties;
+import com.cydeo.metrics.CallMetrics;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.jboss.resteasy.client.jaxrs.ResteasyClient;
+import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
+import org.jboss.resteasy.client.jaxrs.engines.ApacheHttpClient43Engine;
+import org.keycloak.OAuth2Constants;
+import org.keycloak.admin.client.Keycloak;
+import org.keycloak.admin.client.KeycloakBuilder;
+import org.keycloak.admin.client.resource.RealmResource;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class KeycloakAdminClient {
+
+    private final KeycloakProperties keycloakProperties;
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+    private final Keycloak keycloak;
+    private final CallMetrics callMetrics;
+
+    private final AtomicLong tokenRefreshCount = new AtomicLong();
+    private final AtomicLong tokenRefreshFailureCount = new AtomicLong();
+    private volatile String currentAccessToken;
+    private volatile long lastTokenRefreshTime;
+
+    public KeycloakAdminClient(KeycloakProperties keycloakProperties, MeterRegistry meterRegistry,
+                               CallMetrics callMetrics) {
+        this.keycloakProperties = keycloakProperties;
+        this.callMetrics = callMetrics;
+        this.connectionManager = buildConnectionManager();
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(buildRequestConfig())
+                .build();
+        this.keycloak = buildKeycloak();
+        bindMetrics(meterRegistry);
+    }
+
+    public RealmResource realm() {
+        refreshTokenIfNeeded();
+        return keycloak.realm(keycloakProperties.getRealm());
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        keycloak.close();
+        httpClient.close();
+    }
+
+    private PoolingHttpClientConnectionManager buildConnectionManager() {
+
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(
+                keycloakProperties.getPoolConnectionTtl(), TimeUnit.SECONDS);
+        connectionManager.setMaxTotal(keycloakProperties.getPoolSize());
+        connectionManager.setDefaultMaxPerRoute(keycloakProperties.getPoolMaxPerRoute());
+
+        return connectionManager;
+
+    }
+
+    private RequestConfig buildRequestConfig() {
+        return RequestConfig.custom()
+                .setConnectTimeout(keycloakProperties.getPoolConnectTimeout())
+                .setSocketTimeout(keycloakProperties.getPoolSocketTimeout())
+                .setConnectionRequestTimeout(keycloakProperties.getPoolConnectionRequestTimeout())
+                .build();
+    }
+
+    private Keycloak buildKeycloak() {
+
+        ResteasyClient resteasyClient = ((ResteasyClientBuilder) ResteasyClientBuilder.newBuilder())
+                .httpEngine(new ApacheHttpClient43Engine(httpClient))
+                .build();
+
+        Keycloak keycloak = KeycloakBuilder.builder()
+                .serverUrl(keycloakProperties.getAuthServerUrl())
+                .realm(keycloakProperties.getMasterRealm())
+                .username(keycloakProperties.getMasterUser())
+                .password(keycloakProperties.getMasterUserPswd())
+                .clientId(keycloakProperties.getMasterClient())
+                .grantType(OAuth2Constants.PASSWORD)
+                .resteasyClient(resteasyClient)
+                .build();
+
+        keycloak.tokenManager().setMinTokenValidity(keycloakProperties.getTokenMinValidity());
+
+        return keycloak;
+
+    }
+
+    private void refreshTokenIfNeeded() {
+
+        String accessToken;
+
+        try {
+            accessToken = callMetrics.record("keycloak.admin.requests", "Duration of Keycloak admin API calls",
+                    Tags.of("operation", "token"), keycloak.tokenManager()::getAccessTokenString);
+        } catch (RuntimeException exception) {
+            tokenRefreshFailureCount.incrementAndGet();
+            throw exception;
+        }
+
+        if (!Objects.equals(accessToken, currentAccessToken)) {
+            currentAccessToken = accessToken;
+            lastTokenRefreshTime = System.currentTimeMillis();
+            tokenRefreshCount.incrementAndGet();
+        }
+
+    }
+
+    private void bindMetrics(MeterRegistry meterRegistry) {
+
+        Gauge.builder("keycloak.admin.pool.leased", connectionManager, manager -> manager.getTotalStats().getLeased())
+                .description("Connections to the Keycloak admin API currently in use")
+                .register(meterRegistry);
+
+        Gauge.builder("keycloak.admin.pool.available", connectionManager, manager -> manager.getTotalStats().getAvailable())
+                .description("Idle pooled connections to the Keycloak admin API")
+                .register(meterRegistry);
+
+        Gauge.builder("keycloak.admin.pool.pending", connectionManager, manager -> manager.getTotalStats().getPending())
+                .description("Requests waiting for a connection to the Keycloak admin API")
+                .register(meterRegistry);
+
+        Gauge.builder("keycloak.admin.pool.max", connectionManager, manager -> manager.getTotalStats().getMax())
+                .description("Maximum number of pooled connections to the Keycloak admin API")
+                .register(meterRegistry);
+
+        FunctionCounter.builder("keycloak.admin.token.refreshes", tokenRefreshCount, AtomicLong::get)
+                .description("Number of master realm access tokens obtained by the admin client")
+                .register(meterRegistry);
+
+        FunctionCounter.builder("keycloak.admin.token.refresh.failures", tokenRefreshFailureCount, AtomicLong::get)
+                .description("Number of failed master realm token grants or refreshes")
+                .register(meterRegistry);
+
+        Gauge.builder("keycloak.admin.token.age", this, client -> client.lastTokenRefreshTime == 0 ? 0
+                        : (System.currentTimeMillis() - client.lastTokenRefreshTime) / 1000.0)
+                .description("Seconds since the admin client last obtained a new access token")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+
+    }
+
+}
@@ -5,12 +5,11 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.RequestHeader;
 
-@FeignClient(value = "project-service", url = "http://localhost:8082")
+@FeignClient(value = "project-service", url = "${clients.project-service.url}")
 public interface ProjectClient {
 
     @GetMapping("/api/v1/project/count/manager/{assignedManager}")
-    ResponseEntity<ProjectResponseDTO> getCountByAssignedManager(@RequestHeader(value = "Authorization") String authorizationHeader, @PathVariable("assignedManager") String assignedManager);
+    ResponseEntity<ProjectResponseDTO> getCountByAssignedManager(@PathVariable("assignedManager") String assignedManager);
 
 }
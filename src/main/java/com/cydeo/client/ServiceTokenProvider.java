@@ -0,0 +1,65 @@
+package com.cydeo.client;
+
+import com.cydeo.config.KeycloakProperties;
+import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
+import org.keycloak.OAuth2Constants;
+import org.keycloak.admin.client.Keycloak;
+import org.keycloak.admin.client.KeycloakBuilder;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+
+@Component
+public class ServiceTokenProvider {
+
+    private final Keycloak keycloak;
+
+    private volatile AuthorizationHeader authorizationHeader;
+
+    public ServiceTokenProvider(KeycloakProperties keycloakProperties) {
+
+        this.keycloak = KeycloakBuilder.builder()
+                .serverUrl(keycloakProperties.getAuthServerUrl())
+                .realm(keycloakProperties.getRealm())
+                .clientId(keycloakProperties.getClientId())
+                .clientSecret(keycloakProperties.getClientSecret())
+                .grantType(OAuth2Constants.CLIENT_CREDENTIALS)
+                .resteasyClient(((ResteasyClientBuilder) ResteasyClientBuilder.newBuilder()).connectionPoolSize(2).build())
+                .build();
+
+        this.keycloak.tokenManager().setMinTokenValidity(keycloakProperties.getServiceTokenMinValidity());
+
+    }
+
+    public String getAuthorizationHeader() {
+
+        String accessToken = keycloak.tokenManager().getAccessTokenString();
+        AuthorizationHeader currentHeader = authorizationHeader;
+
+        if (currentHeader == null || !currentHeader.accessToken.equals(accessToken)) {
+            currentHeader = new AuthorizationHeader(accessToken);
+            authorizationHeader = currentHeader;
+        }
+
+        return currentHeader.value;
+
+    }
+
+    @PreDestroy
+    public void close() {
+        keycloak.close();
+    }
+
+    private static class AuthorizationHeader {
+
+        private final String accessToken;
+        private final String value;
+
+        private AuthorizationHeader(String accessToken) {
+            this.accessToken = accessToken;
+            this.value = "Bearer " + accessToken;
+        }
+
+    }
+
+}
@@ -5,12 +5,11 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.RequestHeader;
 
-@FeignClient(value = "task-service", url = "http://localhost:8083")
+@FeignClient(value = "task-service", url = "${clients.task-service.url}")
 public interface TaskClient {
 
     @GetMapping("/api/v1/task/count/employee/{assignedEmployee}")
-    ResponseEntity<TaskResponseDTO> getCountByAssignedEmployee(@RequestHeader(value = "Authorization") String authorizationHeader, @PathVariable("assignedEmployee") String assignedEmployee);
+    ResponseEntity<TaskResponseDTO> getCountByAssignedEmployee(@PathVariable("assignedEmployee") String assignedEmployee);
 
 }
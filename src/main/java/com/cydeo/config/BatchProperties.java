@@ -0,0 +1,25 @@
+package com.cydeo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Getter
+@Setter
+public class BatchProperties {
+
+    @Value("${batch.create.max-size:5000}")
+    private int createMaxSize;
+
+    @Value("${batch.lookup.max-size:1000}")
+    private int lookupMaxSize;
+
+    @Value("${batch.keycloak.parallelism:8}")
+    private int keycloakParallelism;
+
+    @Value("${batch.downstream.parallelism:16}")
+    private int downstreamParallelism;
+
+}
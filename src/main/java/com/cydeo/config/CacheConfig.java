@@ -0,0 +1,100 @@
+package com.cydeo.config;
+
+import com.cydeo.cache.CachedResponse;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.expiry.ExpiryPolicy;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+@Configuration
+public class CacheConfig {
+
+    public static final String USER_REGION = "users";
+    public static final String USER_NATURAL_ID_REGION = "users-natural-id";
+    public static final String ROLE_REGION = "roles";
+    public static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    public static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+    public static final String USER_EXISTENCE_CACHE = "user-existence";
+    public static final String CONNECTION_COUNT_FALLBACK_CACHE = "connection-count-fallback";
+    public static final String KEYCLOAK_USER_ID_CACHE = "keycloak-user-ids";
+    public static final String USER_RESPONSE_CACHE = "user-responses";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager jCacheManager(CachingProperties cachingProperties, ResilienceProperties resilienceProperties) {
+
+        CachingProvider cachingProvider = Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        CacheManager cacheManager = cachingProvider.getCacheManager(cachingProvider.getDefaultURI(), getClass().getClassLoader());
+
+        ExpiryPolicy<Object, Object> entityExpiry = ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(cachingProperties.getEntityTtl()));
+        ExpiryPolicy<Object, Object> queryExpiry = ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(cachingProperties.getQueryTtl()));
+
+        createCache(cacheManager, USER_REGION, Object.class, Object.class, cachingProperties.getEntityMaxEntries(), entityExpiry);
+        createCache(cacheManager, USER_NATURAL_ID_REGION, Object.class, Object.class, cachingProperties.getEntityMaxEntries(), entityExpiry);
+        createCache(cacheManager, ROLE_REGION, Object.class, Object.class, 100, entityExpiry);
+        createCache(cacheManager, QUERY_RESULTS_REGION, Object.class, Object.class, cachingProperties.getQueryMaxEntries(), queryExpiry);
+        createCache(cacheManager, UPDATE_TIMESTAMPS_REGION, Object.class, Object.class, 1000, ExpiryPolicyBuilder.noExpiration());
+
+        createCache(cacheManager, USER_EXISTENCE_CACHE, String.class, Boolean.class, cachingProperties.getExistenceMaxEntries(),
+                existenceExpiry(Duration.ofSeconds(cachingProperties.getExistencePositiveTtl()),
+                        Duration.ofSeconds(cachingProperties.getExistenceNegativeTtl())));
+
+        createCache(cacheManager, CONNECTION_COUNT_FALLBACK_CACHE, String.class, Integer.class, resilienceProperties.getFallbackMaxEntries(),
+                ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(resilienceProperties.getFallbackTtl())));
+
+        createCache(cacheManager, KEYCLOAK_USER_ID_CACHE, String.class, String.class, cachingProperties.getKeycloakUserIdMaxEntries(),
+                ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(cachingProperties.getKeycloakUserIdTtl())));
+
+        createCache(cacheManager, USER_RESPONSE_CACHE, String.class, CachedResponse.class, cachingProperties.getResponseMaxEntries(),
+                ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(cachingProperties.getResponseTtl())));
+
+        return cacheManager;
+
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager jCacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, jCacheManager);
+    }
+
+    private ExpiryPolicy<String, Boolean> existenceExpiry(Duration positiveTtl, Duration negativeTtl) {
+        return new ExpiryPolicy<>() {
+
+            @Override
+            public Duration getExpiryForCreation(String userName, Boolean exists) {
+                return exists ? positiveTtl : negativeTtl;
+            }
+
+            @Override
+            public Duration getExpiryForAccess(String userName, Supplier<? extends Boolean> exists) {
+                return null;
+            }
+
+            @Override
+            public Duration getExpiryForUpdate(String userName, Supplier<? extends Boolean> oldExists, Boolean exists) {
+                return exists ? positiveTtl : negativeTtl;
+            }
+
+        };
+    }
+
+    private <K, V> void createCache(CacheManager cacheManager, String name, Class<K> keyType, Class<V> valueType,
+                                    long maxEntries, ExpiryPolicy<? super K, ? super V> expiryPolicy) {
+        cacheManager.createCache(name, Eh107Configuration.fromEhcacheCacheConfiguration(
+                CacheConfigurationBuilder.newCacheConfigurationBuilder(keyType, valueType, ResourcePoolsBuilder.heap(maxEntries))
+                        .withExpiry(expiryPolicy)
+                        .build()));
+    }
+
+}
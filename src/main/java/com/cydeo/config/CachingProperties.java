@@ -0,0 +1,49 @@
+package com.cydeo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Getter
+@Setter
+public class CachingProperties {
+
+    @Value("${caching.entity.max-entries:10000}")
+    private long entityMaxEntries;
+
+    @Value("${caching.entity.ttl:600}")
+    private long entityTtl;
+
+    @Value("${caching.query.max-entries:1000}")
+    private long queryMaxEntries;
+
+    @Value("${caching.query.ttl:300}")
+    private long queryTtl;
+
+    @Value("${caching.existence.max-entries:50000}")
+    private long existenceMaxEntries;
+
+    @Value("${caching.existence.positive-ttl:300}")
+    private long existencePositiveTtl;
+
+    @Value("${caching.existence.negative-ttl:30}")
+    private long existenceNegativeTtl;
+
+    @Value("${caching.response.max-entries:10000}")
+    private long responseMaxEntries;
+
+    @Value("${caching.response.ttl:600}")
+    private long responseTtl;
+
+    @Value("${caching.authentication.max-entries:10000}")
+    private int authenticationMaxEntries;
+
+    @Value("${caching.keycloak-user-id.max-entries:50000}")
+    private long keycloakUserIdMaxEntries;
+
+    @Value("${caching.keycloak-user-id.ttl:3600}")
+    private long keycloakUserIdTtl;
+
+}
@@ -0,0 +1,23 @@
+package com.cydeo.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class ExecutorConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService keycloakExecutor(BatchProperties batchProperties) {
+        return Executors.newFixedThreadPool(batchProperties.getKeycloakParallelism());
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService downstreamExecutor(BatchProperties batchProperties) {
+        return new DelegatingSecurityContextExecutorService(Executors.newFixedThreadPool(batchProperties.getDownstreamParallelism()));
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.cydeo.config;
+
+import com.cydeo.client.ServiceTokenProvider;
+import com.cydeo.security.BearerTokenPropagationInterceptor;
+import feign.RequestInterceptor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class FeignConfig {
+
+    @Bean
+    public RequestInterceptor bearerTokenPropagationInterceptor(ServiceTokenProvider serviceTokenProvider,
+                                                                KeycloakProperties keycloakProperties) {
+        return new BearerTokenPropagationInterceptor(serviceTokenProvider,
+                Duration.ofSeconds(keycloakProperties.getCallerTokenMinValidity()));
+    }
+
+}
@@ -22,6 +22,24 @@ public class KeycloakProperties {
     @Value("${keycloak.credentials.secret}")
     private String clientSecret;
 
+    @Value("${keycloak.jwks.lifespan:900}")
+    private long jwksLifespan;
+
+    @Value("${keycloak.jwks.refresh-time:300}")
+    private long jwksRefreshTime;
+
+    @Value("${keycloak.jwks.connect-timeout:2000}")
+    private int jwksConnectTimeout;
+
+    @Value("${keycloak.jwks.read-timeout:2000}")
+    private int jwksReadTimeout;
+
+    @Value("${keycloak.service-token.min-validity:30}")
+    private long serviceTokenMinValidity;
+
+    @Value("${keycloak.caller-token.min-validity:10}")
+    private long callerTokenMinValidity;
+
     @Value("${master.user.username}")
     private String masterUser;
 
@@ -34,4 +52,28 @@ public class KeycloakProperties {
     @Value("${master.client}")
     private String masterClient;
 
+    @Value("${master.pool.size:10}")
+    private int poolSize;
+
+    @Value("${master.pool.max-per-route:10}")
+    private int poolMaxPerRoute;
+
+    @Value("${master.pool.connection-ttl:60}")
+    private long poolConnectionTtl;
+
+    @Value("${master.pool.connect-timeout:2000}")
+    private int poolConnectTimeout;
+
+    @Value("${master.pool.socket-timeout:5000}")
+    private int poolSocketTimeout;
+
+    @Value("${master.pool.connection-request-timeout:2000}")
+    private int poolConnectionRequestTimeout;
+
+    @Value("${master.token.min-validity:30}")
+    private long tokenMinValidity;
+
+    @Value("${master.cache.client-ttl:300}")
+    private long clientCacheTtl;
+
 }
@@ -0,0 +1,31 @@
+package com.cydeo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Getter
+@Setter
+public class KeycloakSyncProperties {
+
+    @Value("${keycloak-sync.batch-size:100}")
+    private int batchSize;
+
+    @Value("${keycloak-sync.lease:60}")
+    private long lease;
+
+    @Value("${keycloak-sync.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${keycloak-sync.backoff.initial:1000}")
+    private long initialBackoff;
+
+    @Value("${keycloak-sync.backoff.max:300000}")
+    private long maxBackoff;
+
+    @Value("${keycloak-sync.retention:24}")
+    private long retention;
+
+}
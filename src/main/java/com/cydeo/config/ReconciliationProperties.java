@@ -0,0 +1,31 @@
+package com.cydeo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Getter
+@Setter
+public class ReconciliationProperties {
+
+    @Value("${reconciliation.apply-fixes:false}")
+    private boolean applyFixes;
+
+    @Value("${reconciliation.page-size:500}")
+    private int pageSize;
+
+    @Value("${reconciliation.max-fixes:1000}")
+    private int maxFixes;
+
+    @Value("${reconciliation.rate-limit.requests-per-second:20}")
+    private int requestsPerSecond;
+
+    @Value("${reconciliation.rate-limit.timeout:60}")
+    private long rateLimitTimeout;
+
+    @Value("${reconciliation.ignored-user-prefix:service-account-}")
+    private String ignoredUserPrefix;
+
+}
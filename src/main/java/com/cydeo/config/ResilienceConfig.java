@@ -0,0 +1,67 @@
+package com.cydeo.config;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedRateLimiterMetrics;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class ResilienceConfig {
+
+    @Bean
+    public CircuitBreakerRegistry circuitBreakerRegistry(ResilienceProperties resilienceProperties, MeterRegistry meterRegistry) {
+
+        CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig.custom()
+                .failureRateThreshold(resilienceProperties.getFailureRateThreshold())
+                .slowCallRateThreshold(resilienceProperties.getSlowCallRateThreshold())
+                .slowCallDurationThreshold(Duration.ofMillis(resilienceProperties.getSlowCallDuration()))
+                .waitDurationInOpenState(Duration.ofMillis(resilienceProperties.getWaitDurationInOpenState()))
+                .slidingWindowSize(resilienceProperties.getSlidingWindowSize())
+                .minimumNumberOfCalls(resilienceProperties.getMinimumNumberOfCalls())
+                .permittedNumberOfCallsInHalfOpenState(resilienceProperties.getPermittedCallsInHalfOpenState())
+                .ignoreExceptions(BulkheadFullException.class)
+                .build();
+
+        CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(circuitBreakerConfig);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+
+        return circuitBreakerRegistry;
+
+    }
+
+    @Bean
+    public BulkheadRegistry bulkheadRegistry(ResilienceProperties resilienceProperties, MeterRegistry meterRegistry) {
+
+        BulkheadConfig bulkheadConfig = BulkheadConfig.custom()
+                .maxConcurrentCalls(resilienceProperties.getBulkheadMaxConcurrentCalls())
+                .maxWaitDuration(Duration.ZERO)
+                .build();
+
+        BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(bulkheadConfig);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(meterRegistry);
+
+        return bulkheadRegistry;
+
+    }
+
+    @Bean
+    public RateLimiterRegistry rateLimiterRegistry(MeterRegistry meterRegistry) {
+
+        RateLimiterRegistry rateLimiterRegistry = RateLimiterRegistry.ofDefaults();
+        TaggedRateLimiterMetrics.ofRateLimiterRegistry(rateLimiterRegistry).bindTo(meterRegistry);
+
+        return rateLimiterRegistry;
+
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.cydeo.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Getter
+@Setter
+public class ResilienceProperties {
+
+    @Value("${resilience.circuit-breaker.failure-rate-threshold:50}")
+    private float failureRateThreshold;
+
+    @Value("${resilience.circuit-breaker.slow-call-rate-threshold:50}")
+    private float slowCallRateThreshold;
+
+    @Value("${resilience.circuit-breaker.slow-call-duration:2000}")
+    private long slowCallDuration;
+
+    @Value("${resilience.circuit-breaker.wait-duration-in-open-state:30000}")
+    private long waitDurationInOpenState;
+
+    @Value("${resilience.circuit-breaker.sliding-window-size:20}")
+    private int slidingWindowSize;
+
+    @Value("${resilience.circuit-breaker.minimum-number-of-calls:10}")
+    private int minimumNumberOfCalls;
+
+    @Value("${resilience.circuit-breaker.permitted-calls-in-half-open-state:3}")
+    private int permittedCallsInHalfOpenState;
+
+    @Value("${resilience.bulkhead.max-concurrent-calls:20}")
+    private int bulkheadMaxConcurrentCalls;
+
+    @Value("${resilience.fallback.max-entries:10000}")
+    private long fallbackMaxEntries;
+
+    @Value("${resilience.fallback.ttl:60}")
+    private long fallbackTtl;
+
+}
@@ -0,0 +1,59 @@
+package com.cydeo.controller;
+
+import com.cydeo.dto.KeycloakSyncOperationDTO;
+import com.cydeo.dto.KeycloakSyncStatusDTO;
+import com.cydeo.dto.wrapper.ResponseWrapper;
+import com.cydeo.service.KeycloakSyncService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.annotation.security.RolesAllowed;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/sync")
+public class KeycloakSyncController {
+
+    private final KeycloakSyncService keycloakSyncService;
+
+    public KeycloakSyncController(KeycloakSyncService keycloakSyncService) {
+        this.keycloakSyncService = keycloakSyncService;
+    }
+
+    @RolesAllowed("Admin")
+    @GetMapping("/status")
+    public ResponseEntity<ResponseWrapper> getStatus() {
+
+        KeycloakSyncStatusDTO status = keycloakSyncService.readStatus();
+
+        return ResponseEntity
+                .ok(ResponseWrapper.builder()
+                        .success(true)
+                        .statusCode(HttpStatus.OK)
+                        .message("Sync status is successfully retrieved.")
+                        .data(status)
+                        .build());
+
+    }
+
+    @RolesAllowed("Admin")
+    @GetMapping("/status/{userName}")
+    public ResponseEntity<ResponseWrapper> getOperations(@PathVariable("userName") String userName) {
+
+        List<KeycloakSyncOperationDTO> operations = keycloakSyncService.readOperations(userName);
+
+        return ResponseEntity
+                .ok(ResponseWrapper.builder()
+                        .success(true)
+                        .statusCode(HttpStatus.OK)
+                        .message("Sync operations are successfully retrieved.")
+                        .data(operations)
+                        .build());
+
+    }
+
+}
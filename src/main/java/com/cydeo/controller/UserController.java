@@ -1,24 +1,46 @@
 package com.cydeo.controller;
 
+import com.cydeo.cache.UserResponseCache;
+import com.cydeo.dto.BulkUserResultDTO;
 import com.cydeo.dto.wrapper.ResponseWrapper;
 import com.cydeo.dto.UserDTO;
+import com.cydeo.dto.UserPageDTO;
 import com.cydeo.service.UserService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.annotation.security.RolesAllowed;
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/v1/user")
 public class UserController {
 
+    private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
     private final UserService userService;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter responseWriter;
+    private final UserResponseCache userResponseCache;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, ObjectMapper objectMapper, UserResponseCache userResponseCache) {
         this.userService = userService;
+        this.objectMapper = objectMapper;
+        this.responseWriter = objectMapper.writerFor(ResponseWrapper.class);
+        this.userResponseCache = userResponseCache;
     }
 
     @RolesAllowed("Admin")
@@ -38,27 +60,53 @@ public class UserController {
 
     }
 
+    @RolesAllowed("Admin")
+    @PostMapping(value = "/create/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ResponseWrapper> createUsers(@RequestBody List<UserDTO> userDTOs) {
+        return bulkCreateResponse(userService.createAll(userDTOs));
+    }
+
+    @RolesAllowed("Admin")
+    @PostMapping(value = "/create/bulk", consumes = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResponseWrapper> createUsersFromStream(InputStream inputStream) throws IOException {
+        List<UserDTO> userDTOs = objectMapper.readerFor(UserDTO.class).<UserDTO>readValues(inputStream).readAll();
+        return bulkCreateResponse(userService.createAll(userDTOs));
+    }
+
     @RolesAllowed("Admin")
     @GetMapping("/read/{userName}")
-    public ResponseEntity<ResponseWrapper> getByUserName(@PathVariable("userName") String userName) {
+    public ResponseEntity<byte[]> getByUserName(@PathVariable("userName") String userName, WebRequest webRequest) {
 
-        UserDTO foundUser = userService.readByUserName(userName);
+        Optional<String> eTag = userService.readETag(userName);
 
-        return ResponseEntity
-                .ok(ResponseWrapper.builder()
-                        .success(true)
-                        .statusCode(HttpStatus.OK)
-                        .message("User is successfully retrieved.")
-                        .data(foundUser)
-                        .build());
+        if (eTag.isPresent() && webRequest.checkNotModified(eTag.get())) {
+            return null;
+        }
+
+        byte[] body = eTag.map(tag -> userResponseCache.getUser(userName, tag)).orElse(null);
+
+        if (body == null) {
+            UserDTO foundUser = userService.readByUserName(userName);
+            body = serialize(ResponseWrapper.builder()
+                    .success(true)
+                    .statusCode(HttpStatus.OK)
+                    .message("User is successfully retrieved.")
+                    .data(foundUser)
+                    .build());
+            if (eTag.isPresent()) {
+                userResponseCache.putUser(userName, eTag.get(), body);
+            }
+        }
+
+        return jsonResponse(body);
 
     }
 
     @RolesAllowed("Admin")
-    @GetMapping("/read/all")
-    public ResponseEntity<ResponseWrapper> getUsers() {
+    @PostMapping("/read")
+    public ResponseEntity<ResponseWrapper> getByUserNames(@RequestBody List<String> userNames) {
 
-        List<UserDTO> foundUsers = userService.readAllUsers();
+        Map<String, UserDTO> foundUsers = userService.readByUserNames(userNames);
 
         return ResponseEntity
                 .ok(ResponseWrapper.builder()
@@ -70,6 +118,78 @@ public class UserController {
 
     }
 
+    @RolesAllowed("Admin")
+    @GetMapping("/read/all")
+    public ResponseEntity<byte[]> getUsers(WebRequest webRequest) {
+
+        String eTag = userService.readAllUsersETag();
+
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        byte[] body = userResponseCache.getAllUsers(eTag);
+
+        if (body == null) {
+            List<UserDTO> foundUsers = userService.readAllUsers();
+            body = serialize(ResponseWrapper.builder()
+                    .success(true)
+                    .statusCode(HttpStatus.OK)
+                    .message("Users are successfully retrieved.")
+                    .data(foundUsers)
+                    .build());
+            userResponseCache.putAllUsers(eTag, body);
+        }
+
+        return jsonResponse(body);
+
+    }
+
+    @RolesAllowed("Admin")
+    @GetMapping("/read/page")
+    public ResponseEntity<byte[]> getUsersPage(@RequestParam(value = "pageToken", required = false) String pageToken,
+                                               @RequestParam(value = "size", required = false) Integer size) {
+
+        String eTag = userService.readAllUsersETag();
+        byte[] body = userResponseCache.getPage(pageToken, size, eTag);
+
+        if (body == null) {
+            UserPageDTO foundPage = userService.readUsersPage(pageToken, size);
+            body = serialize(ResponseWrapper.builder()
+                    .success(true)
+                    .statusCode(HttpStatus.OK)
+                    .message("Users are successfully retrieved.")
+                    .data(foundPage)
+                    .build());
+            userResponseCache.putPage(pageToken, size, eTag, body);
+        }
+
+        return jsonResponse(body);
+
+    }
+
+    @RolesAllowed("Admin")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+
+        ObjectWriter userWriter = objectMapper.writerFor(UserDTO.class);
+
+        StreamingResponseBody responseBody = outputStream -> userService.exportAllUsers(userDTO -> {
+            try {
+                outputStream.write(userWriter.writeValueAsBytes(userDTO));
+                outputStream.write('\n');
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        });
+
+        return ResponseEntity
+                .ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(responseBody);
+
+    }
+
     @RolesAllowed({"Admin", "Manager"})
     @GetMapping("/check/{userName}")
     public ResponseEntity<ResponseWrapper> checkByUserName(@PathVariable("userName") String userName) {
@@ -86,6 +206,22 @@ public class UserController {
 
     }
 
+    @RolesAllowed({"Admin", "Manager"})
+    @PostMapping("/check")
+    public ResponseEntity<ResponseWrapper> checkByUserNames(@RequestBody List<String> userNames) {
+
+        Map<String, Boolean> results = userService.checkByUserNames(userNames);
+
+        return ResponseEntity
+                .ok(ResponseWrapper.builder()
+                        .success(true)
+                        .statusCode(HttpStatus.OK)
+                        .message("Users are successfully checked.")
+                        .data(results)
+                        .build());
+
+    }
+
     @RolesAllowed("Admin")
     @PutMapping("/update/{username}")
     public ResponseEntity<ResponseWrapper> updateUser(@PathVariable("username") String username, @Valid @RequestBody UserDTO userDTO) {
@@ -102,6 +238,22 @@ public class UserController {
 
     }
 
+    @RolesAllowed("Admin")
+    @PostMapping("/check/deletable")
+    public ResponseEntity<ResponseWrapper> checkDeletable(@RequestBody List<String> userNames) {
+
+        Map<String, Boolean> results = userService.checkDeletable(userNames);
+
+        return ResponseEntity
+                .ok(ResponseWrapper.builder()
+                        .success(true)
+                        .statusCode(HttpStatus.OK)
+                        .message("Users are successfully checked for deletion.")
+                        .data(results)
+                        .build());
+
+    }
+
     @RolesAllowed("Admin")
     @DeleteMapping("/delete/{userName}")
     public ResponseEntity<Void> deleteUser(@PathVariable("userName") String userName) {
@@ -109,4 +261,33 @@ public class UserController {
         return ResponseEntity.noContent().build();
     }
 
+    private byte[] serialize(ResponseWrapper responseWrapper) {
+        try {
+            return responseWriter.writeValueAsBytes(responseWrapper);
+        } catch (JsonProcessingException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private ResponseEntity<byte[]> jsonResponse(byte[] body) {
+        return ResponseEntity
+                .ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    private ResponseEntity<ResponseWrapper> bulkCreateResponse(List<BulkUserResultDTO> results) {
+
+        long createdCount = results.stream().filter(BulkUserResultDTO::isSuccess).count();
+
+        return ResponseEntity
+                .ok(ResponseWrapper.builder()
+                        .success(createdCount == results.size())
+                        .statusCode(HttpStatus.OK)
+                        .message(createdCount + " of " + results.size() + " users are successfully created.")
+                        .data(results)
+                        .build());
+
+    }
+
 }
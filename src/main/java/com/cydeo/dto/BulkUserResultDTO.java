@@ -0,0 +1,20 @@
+package com.cydeo.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkUserResultDTO {
+
+    private int row;
+    private String userName;
+    private boolean success;
+    private String message;
+    private UserDTO data;
+
+}
@@ -0,0 +1,30 @@
+package com.cydeo.dto;
+
+import com.cydeo.enums.SyncOperationType;
+import com.cydeo.enums.SyncStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class KeycloakSyncOperationDTO {
+
+    private Long id;
+    private SyncOperationType operationType;
+    private String userName;
+    private SyncStatus status;
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+    private String lastError;
+    private LocalDateTime insertDateTime;
+    private LocalDateTime lastUpdateDateTime;
+
+}
@@ -0,0 +1,21 @@
+package com.cydeo.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class KeycloakSyncStatusDTO {
+
+    private long pending;
+    private long processing;
+    private long failed;
+    private LocalDateTime oldestPendingSince;
+
+}
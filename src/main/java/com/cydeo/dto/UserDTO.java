@@ -23,6 +23,9 @@ public class UserDTO {
     @JsonIgnore
     private Long id;
 
+    @JsonIgnore
+    private String keycloakId;
+
     @NotBlank(message = "Firstname is required.")
     @Size(min = 3, max = 16, message = "Firstname length should be min 2, max 16.")
     private String firstName;
@@ -0,0 +1,52 @@
+package com.cydeo.entity;
+
+import com.cydeo.enums.SyncOperationType;
+import com.cydeo.enums.SyncStatus;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "keycloak_sync_operations", indexes = {
+        @Index(name = "idx_keycloak_sync_status_next_attempt", columnList = "status, nextAttemptAt"),
+        @Index(name = "idx_keycloak_sync_user_name", columnList = "userName")
+})
+public class KeycloakSyncOperation extends BaseEntity {
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false)
+    private SyncOperationType operationType;
+
+    @Column(nullable = false, updatable = false)
+    private String userName;
+
+    private String keycloakId;
+
+    private String firstName;
+
+    private String lastName;
+
+    private String password;
+
+    private String roleDescription;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private SyncStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+}
@@ -1,10 +1,16 @@
 package com.cydeo.entity;
 
+import com.cydeo.cache.RoleChangeListener;
+import com.cydeo.config.CacheConfig;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.Table;
 
 @Getter
@@ -12,6 +18,9 @@ import javax.persistence.Table;
 @NoArgsConstructor
 @Entity
 @Table(name = "roles")
+@EntityListeners(RoleChangeListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.ROLE_REGION)
 public class Role extends BaseEntity {
     private String description;
 }
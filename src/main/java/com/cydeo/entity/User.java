@@ -1,9 +1,14 @@
 package com.cydeo.entity;
 
+import com.cydeo.config.CacheConfig;
 import com.cydeo.enums.Gender;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import javax.persistence.*;
 
@@ -11,7 +16,10 @@ import javax.persistence.*;
 @Setter
 @NoArgsConstructor
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "idx_users_first_name_id", columnList = "firstName, id"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.USER_REGION)
+@NaturalIdCache(region = CacheConfig.USER_NATURAL_ID_REGION)
 public class User extends BaseEntity {
 
     @Column(nullable = false)
@@ -20,12 +28,16 @@ public class User extends BaseEntity {
     @Column(nullable = false)
     private String lastName;
 
+    @NaturalId(mutable = true)
     @Column(nullable = false, unique = true)
     private String userName;
 
     @Column(nullable = false)
     private String password;
 
+    @Column(unique = true)
+    private String keycloakId;
+
     @Column(nullable = false)
     private boolean enabled;
 
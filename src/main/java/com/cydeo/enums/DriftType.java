@@ -0,0 +1,7 @@
+package com.cydeo.enums;
+
+public enum DriftType {
+
+    MISSING_IN_KEYCLOAK, MISSING_LOCALLY, ATTRIBUTES_MISMATCH
+
+}
@@ -0,0 +1,7 @@
+package com.cydeo.enums;
+
+public enum SyncOperationType {
+
+    CREATE, UPDATE, DELETE
+
+}
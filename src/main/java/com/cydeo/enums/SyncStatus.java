@@ -0,0 +1,7 @@
+package com.cydeo.enums;
+
+public enum SyncStatus {
+
+    PENDING, PROCESSING, DONE, FAILED
+
+}
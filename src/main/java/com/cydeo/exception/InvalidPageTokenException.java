@@ -0,0 +1,9 @@
+package com.cydeo.exception;
+
+public class InvalidPageTokenException extends RuntimeException {
+
+    public InvalidPageTokenException(String message) {
+        super(message);
+    }
+
+}
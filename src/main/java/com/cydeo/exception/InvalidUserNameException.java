@@ -0,0 +1,9 @@
+package com.cydeo.exception;
+
+public class InvalidUserNameException extends RuntimeException {
+
+    public InvalidUserNameException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,156 @@
+package com.cydeo.logging;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.config.Node;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.core.filter.AbstractFilter;
+import org.apache.logging.log4j.core.util.Log4jThreadFactory;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drops repetitions of an identical event (same logger, formatted message and exception class) beyond
+ * {@code allowedRepetitions} per window. When a window with suppressed events closes, one summary line
+ * with the number of dropped events is logged from a background thread, so suppression stays visible.
+ */
+@Plugin(name = "DuplicateMessageFilter", category = Node.CATEGORY, elementType = Filter.ELEMENT_TYPE, printObject = true)
+public final class DuplicateMessageFilter extends AbstractFilter {
+
+    private final Map<String, MessageWindow> windows;
+    private final List<MessageWindow> closedWindows = new ArrayList<>();
+    private final int allowedRepetitions;
+    private final long windowMillis;
+
+    private ScheduledExecutorService reporter;
+
+    private DuplicateMessageFilter(int allowedRepetitions, long windowMillis, int maxKeys, Result onMatch, Result onMismatch) {
+        super(onMatch, onMismatch);
+        this.allowedRepetitions = allowedRepetitions;
+        this.windowMillis = windowMillis;
+        this.windows = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, MessageWindow> eldest) {
+                if (size() > maxKeys) {
+                    close(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @PluginFactory
+    public static DuplicateMessageFilter createFilter(@PluginAttribute(value = "allowedRepetitions", defaultInt = 5) int allowedRepetitions,
+                                                      @PluginAttribute(value = "window", defaultLong = 10000) long windowMillis,
+                                                      @PluginAttribute(value = "maxKeys", defaultInt = 1000) int maxKeys,
+                                                      @PluginAttribute("onMatch") Result onMatch,
+                                                      @PluginAttribute("onMismatch") Result onMismatch) {
+        return new DuplicateMessageFilter(allowedRepetitions, windowMillis, maxKeys,
+                onMatch == null ? Result.DENY : onMatch, onMismatch == null ? Result.NEUTRAL : onMismatch);
+    }
+
+    @Override
+    public void start() {
+        reporter = Executors.newSingleThreadScheduledExecutor(Log4jThreadFactory.createDaemonThreadFactory("DuplicateMessageFilter"));
+        reporter.scheduleWithFixedDelay(this::reportClosedWindows, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+        super.start();
+    }
+
+    @Override
+    public boolean stop(long timeout, TimeUnit timeUnit) {
+        setStopping();
+        if (reporter != null) {
+            reporter.shutdownNow();
+        }
+        setStopped();
+        return true;
+    }
+
+    @Override
+    public Result filter(LogEvent event) {
+
+        String message = event.getMessage().getFormattedMessage();
+        String exceptionClass = event.getThrown() == null ? "" : event.getThrown().getClass().getName();
+        String key = event.getLoggerName() + '|' + exceptionClass + '|' + message;
+        long now = event.getTimeMillis();
+        boolean suppressed;
+
+        synchronized (windows) {
+            MessageWindow window = windows.get(key);
+            if (window == null || now - window.startedAt >= windowMillis) {
+                if (window != null) {
+                    close(window);
+                }
+                window = new MessageWindow(now, event.getLoggerName(), message);
+                windows.put(key, window);
+            } else {
+                window.count++;
+            }
+            suppressed = window.count > allowedRepetitions;
+            if (suppressed) {
+                window.suppressed++;
+            }
+        }
+
+        return suppressed ? onMatch : onMismatch;
+
+    }
+
+    private void close(MessageWindow window) {
+        if (window.suppressed > 0) {
+            closedWindows.add(window);
+        }
+    }
+
+    private void reportClosedWindows() {
+
+        List<MessageWindow> reports;
+        long now = System.currentTimeMillis();
+
+        synchronized (windows) {
+            Iterator<MessageWindow> openWindows = windows.values().iterator();
+            while (openWindows.hasNext()) {
+                MessageWindow window = openWindows.next();
+                if (now - window.startedAt >= windowMillis) {
+                    close(window);
+                    openWindows.remove();
+                }
+            }
+            reports = new ArrayList<>(closedWindows);
+            closedWindows.clear();
+        }
+
+        // Logged from this thread rather than from filter(), where the appender would reject the recursive call.
+        reports.forEach(window -> LogManager.getLogger(window.loggerName)
+                .warn("Suppressed {} repetitions of a log event within {} ms: {}", window.suppressed, windowMillis, window.message));
+
+    }
+
+    private static final class MessageWindow {
+
+        private final long startedAt;
+        private final String loggerName;
+        private final String message;
+        private int count = 1;
+        private int suppressed;
+
+        private MessageWindow(long startedAt, String loggerName, String message) {
+            this.startedAt = startedAt;
+            this.loggerName = loggerName;
+            this.message = message;
+        }
+
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.cydeo.mapper;
+
+import com.cydeo.dto.RoleDTO;
+import com.cydeo.entity.Role;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RoleMapper {
+
+    public RoleDTO convertToDto(Role role) {
+        return new RoleDTO(role.getId(), role.getDescription());
+    }
+
+    public Role convertToEntity(RoleDTO roleDTO) {
+        Role role = new Role();
+        role.setId(roleDTO.getId());
+        role.setDescription(roleDTO.getDescription());
+        return role;
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.cydeo.mapper;
+
+import com.cydeo.dto.UserDTO;
+import com.cydeo.entity.User;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UserMapper {
+
+    private final RoleMapper roleMapper;
+
+    public UserMapper(RoleMapper roleMapper) {
+        this.roleMapper = roleMapper;
+    }
+
+    public UserDTO convertToDto(User user) {
+
+        UserDTO userDTO = new UserDTO();
+        userDTO.setId(user.getId());
+        userDTO.setKeycloakId(user.getKeycloakId());
+        userDTO.setFirstName(user.getFirstName());
+        userDTO.setLastName(user.getLastName());
+        userDTO.setUserName(user.getUserName());
+        userDTO.setPassword(user.getPassword());
+        userDTO.setPhone(user.getPhone());
+        userDTO.setEnabled(user.isEnabled());
+        userDTO.setGender(user.getGender());
+        userDTO.setRole(user.getRole() == null ? null : roleMapper.convertToDto(user.getRole()));
+
+        return userDTO;
+
+    }
+
+    public User convertToEntity(UserDTO userDTO) {
+
+        User user = new User();
+        user.setId(userDTO.getId());
+        user.setKeycloakId(userDTO.getKeycloakId());
+        user.setFirstName(userDTO.getFirstName());
+        user.setLastName(userDTO.getLastName());
+        user.setUserName(userDTO.getUserName());
+        user.setPassword(userDTO.getPassword());
+        user.setPhone(userDTO.getPhone());
+        user.setEnabled(userDTO.isEnabled());
+        user.setGender(userDTO.getGender());
+        user.setRole(userDTO.getRole() == null ? null : roleMapper.convertToEntity(userDTO.getRole()));
+
+        return user;
+
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.cydeo.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+@Component
+public class CallMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public CallMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T record(String name, String description, Tags tags, Supplier<T> call) {
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Throwable failure = null;
+
+        try {
+            return call.get();
+        } catch (RuntimeException | Error exception) {
+            failure = exception;
+            throw exception;
+        } finally {
+            sample.stop(timer(name, description, tags, failure));
+        }
+
+    }
+
+    public void record(String name, String description, Tags tags, Runnable call) {
+        record(name, description, tags, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    public Timer timer(String name, String description, Tags tags, Throwable failure) {
+        return Timer.builder(name)
+                .description(description)
+                .tags(tags)
+                .tag("outcome", failure == null ? "success" : "failure")
+                .tag("exception", failure == null ? "none" : failure.getClass().getSimpleName())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.cydeo.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+@Aspect
+@Component
+public class RepositoryMetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+    private final CallMetrics callMetrics;
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    public RepositoryMetricsAspect(MeterRegistry meterRegistry, CallMetrics callMetrics) {
+        this.meterRegistry = meterRegistry;
+        this.callMetrics = callMetrics;
+    }
+
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object timeRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+
+        Tags tags = Tags.of("repository", repositoryName(joinPoint.getTarget()),
+                "method", joinPoint.getSignature().getName());
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Object result;
+
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable exception) {
+            sample.stop(timer(tags, exception));
+            throw exception;
+        }
+
+        if (result instanceof Stream) {
+            return ((Stream<?>) result).onClose(() -> sample.stop(timer(tags, null)));
+        }
+
+        sample.stop(timer(tags, null));
+
+        return result;
+
+    }
+
+    private Timer timer(Tags tags, Throwable failure) {
+        return callMetrics.timer("repository.invocations", "Duration of Spring Data repository calls", tags, failure);
+    }
+
+    private String repositoryName(Object repository) {
+        return repositoryNames.computeIfAbsent(repository.getClass(), repositoryClass ->
+                Arrays.stream(AopProxyUtils.proxiedUserInterfaces(repository))
+                        .filter(Repository.class::isAssignableFrom)
+                        .map(Class::getSimpleName)
+                        .findFirst()
+                        .orElse(repositoryClass.getSimpleName()));
+    }
+
+}
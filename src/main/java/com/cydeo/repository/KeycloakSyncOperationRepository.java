@@ -0,0 +1,47 @@
+package com.cydeo.repository;
+
+import com.cydeo.entity.KeycloakSyncOperation;
+import com.cydeo.enums.SyncStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface KeycloakSyncOperationRepository extends JpaRepository<KeycloakSyncOperation, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM KeycloakSyncOperation o " +
+            "WHERE o.status IN (com.cydeo.enums.SyncStatus.PENDING, com.cydeo.enums.SyncStatus.PROCESSING) " +
+            "AND o.nextAttemptAt <= :now " +
+            "AND NOT EXISTS (SELECT p.id FROM KeycloakSyncOperation p WHERE p.userName = o.userName AND p.id < o.id " +
+            "AND p.status IN (com.cydeo.enums.SyncStatus.PENDING, com.cydeo.enums.SyncStatus.PROCESSING)) " +
+            "ORDER BY o.id")
+    List<KeycloakSyncOperation> findDueOperations(@Param("now") LocalDateTime now, Pageable pageable);
+
+    long countByStatus(SyncStatus status);
+
+    Optional<KeycloakSyncOperation> findFirstByStatusOrderByIdAsc(SyncStatus status);
+
+    List<KeycloakSyncOperation> findAllByUserNameOrderByIdDesc(String userName);
+
+    @Query("SELECT DISTINCT o.userName FROM KeycloakSyncOperation o " +
+            "WHERE o.status IN (com.cydeo.enums.SyncStatus.PENDING, com.cydeo.enums.SyncStatus.PROCESSING)")
+    List<String> findUnfinishedUserNames();
+
+    @Modifying
+    @Query("DELETE FROM KeycloakSyncOperation o WHERE o.status = com.cydeo.enums.SyncStatus.DONE AND o.lastUpdateDateTime < :before")
+    int deleteCompletedBefore(@Param("before") LocalDateTime before);
+
+}
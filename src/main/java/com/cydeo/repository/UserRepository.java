@@ -1,20 +1,80 @@
 package com.cydeo.repository;
 
 import com.cydeo.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<User> findAllByIsDeleted(boolean isDeleted, Sort var1);
 
+    @Query("SELECT u FROM User u WHERE u.isDeleted = false ORDER BY u.firstName, u.id")
+    List<User> findFirstPage(Pageable pageable);
+
+    @Query("SELECT u FROM User u WHERE u.isDeleted = false " +
+            "AND (u.firstName > :firstName OR (u.firstName = :firstName AND u.id > :id)) " +
+            "ORDER BY u.firstName, u.id")
+    List<User> findPageAfter(@Param("firstName") String firstName, @Param("id") Long id, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT u FROM User u JOIN FETCH u.role WHERE u.isDeleted = false ORDER BY u.id")
+    Stream<User> streamAllActive();
+
+    @Query("SELECT u FROM User u JOIN FETCH u.role WHERE lower(u.userName) IN :userNames AND u.isDeleted = false")
+    List<User> findAllActiveByLowerCaseUserNames(@Param("userNames") Collection<String> userNames);
+
     Optional<User> findByUserNameAndIsDeleted(String username, boolean isDeleted);
 
+    @Query("SELECT COUNT(u) > 0 FROM User u WHERE u.userName = :userName AND u.isDeleted = false")
+    boolean existsActiveByUserName(@Param("userName") String userName);
+
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<User> findAllByRoleDescriptionIgnoreCaseAndIsDeleted(String description, boolean isDeleted);
 
+    @Query("SELECT u FROM User u JOIN FETCH u.role WHERE u.userName IN :userNames AND u.isDeleted = false")
+    List<User> findAllActiveByUserNames(@Param("userNames") Collection<String> userNames);
+
+    @Query("SELECT u.userName FROM User u WHERE u.userName IN :userNames AND u.isDeleted = false")
+    List<String> findExistingUserNames(@Param("userNames") Collection<String> userNames);
+
+    @Query("SELECT u.id AS id, u.lastUpdateDateTime AS lastUpdateDateTime FROM User u " +
+            "WHERE u.userName = :userName AND u.isDeleted = false")
+    Optional<UserVersion> findVersionByUserName(@Param("userName") String userName);
+
+    @Query("SELECT COUNT(u) AS count, MAX(u.lastUpdateDateTime) AS lastUpdateDateTime FROM User u")
+    UserCollectionVersion findCollectionVersion();
+
+    interface UserVersion {
+
+        Long getId();
+
+        LocalDateTime getLastUpdateDateTime();
+
+    }
+
+    interface UserCollectionVersion {
+
+        Long getCount();
+
+        LocalDateTime getLastUpdateDateTime();
+
+    }
+
 }
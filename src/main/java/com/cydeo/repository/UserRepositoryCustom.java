@@ -0,0 +1,11 @@
+package com.cydeo.repository;
+
+import com.cydeo.entity.User;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+
+    Optional<User> findActiveByUserName(String userName);
+
+}
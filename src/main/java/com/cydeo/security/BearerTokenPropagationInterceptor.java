@@ -0,0 +1,47 @@
+package com.cydeo.security;
+
+import com.cydeo.client.ServiceTokenProvider;
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.time.Duration;
+import java.time.Instant;
+
+public class BearerTokenPropagationInterceptor implements RequestInterceptor {
+
+    private final ServiceTokenProvider serviceTokenProvider;
+    private final Duration callerTokenMinValidity;
+
+    public BearerTokenPropagationInterceptor(ServiceTokenProvider serviceTokenProvider, Duration callerTokenMinValidity) {
+        this.serviceTokenProvider = serviceTokenProvider;
+        this.callerTokenMinValidity = callerTokenMinValidity;
+    }
+
+    @Override
+    public void apply(RequestTemplate template) {
+        if (!template.headers().containsKey(HttpHeaders.AUTHORIZATION)) {
+            template.header(HttpHeaders.AUTHORIZATION, resolveAuthorizationHeader());
+        }
+    }
+
+    private String resolveAuthorizationHeader() {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication instanceof JwtAuthenticationToken) {
+            Jwt jwt = ((JwtAuthenticationToken) authentication).getToken();
+            if (jwt.getExpiresAt() != null && Instant.now().plus(callerTokenMinValidity).isBefore(jwt.getExpiresAt())) {
+                return "Bearer " + jwt.getTokenValue();
+            }
+        }
+
+        return serviceTokenProvider.getAuthorizationHeader();
+
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.cydeo.security;
+
+import com.cydeo.cache.JwtAuthenticationCache;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+public class CachingJwtAuthenticationManager implements AuthenticationManager {
+
+    private final JwtAuthenticationProvider jwtAuthenticationProvider;
+    private final JwtAuthenticationCache jwtAuthenticationCache;
+
+    public CachingJwtAuthenticationManager(JwtDecoder jwtDecoder,
+                                           Converter<Jwt, AbstractAuthenticationToken> jwtAuthenticationConverter,
+                                           JwtAuthenticationCache jwtAuthenticationCache) {
+        this.jwtAuthenticationProvider = new JwtAuthenticationProvider(jwtDecoder);
+        this.jwtAuthenticationProvider.setJwtAuthenticationConverter(jwtAuthenticationConverter);
+        this.jwtAuthenticationCache = jwtAuthenticationCache;
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+
+        String token = ((BearerTokenAuthenticationToken) authentication).getToken();
+        JwtAuthenticationToken cachedAuthentication = jwtAuthenticationCache.get(token);
+
+        if (cachedAuthentication != null) {
+            return cachedAuthentication;
+        }
+
+        Authentication result = jwtAuthenticationProvider.authenticate(authentication);
+
+        if (result instanceof JwtAuthenticationToken) {
+            jwtAuthenticationCache.put(token, (JwtAuthenticationToken) result);
+        }
+
+        return result;
+
+    }
+
+}
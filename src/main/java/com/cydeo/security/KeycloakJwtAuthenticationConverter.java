@@ -0,0 +1,55 @@
+package com.cydeo.security;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class KeycloakJwtAuthenticationConverter implements Converter<Jwt, AbstractAuthenticationToken> {
+
+    private static final String RESOURCE_ACCESS_CLAIM = "resource_access";
+    private static final String USERNAME_CLAIM = "preferred_username";
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final String clientId;
+
+    public KeycloakJwtAuthenticationConverter(String clientId) {
+        this.clientId = clientId;
+    }
+
+    @Override
+    public AbstractAuthenticationToken convert(Jwt jwt) {
+        String userName = jwt.getClaimAsString(USERNAME_CLAIM);
+        return new JwtAuthenticationToken(jwt, extractAuthorities(jwt), userName == null ? jwt.getSubject() : userName);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Collection<GrantedAuthority> extractAuthorities(Jwt jwt) {
+
+        Map<String, Object> resourceAccess = jwt.getClaimAsMap(RESOURCE_ACCESS_CLAIM);
+
+        if (resourceAccess == null || !(resourceAccess.get(clientId) instanceof Map)) {
+            return Collections.emptyList();
+        }
+
+        Object roles = ((Map<String, Object>) resourceAccess.get(clientId)).get("roles");
+
+        if (!(roles instanceof List)) {
+            return Collections.emptyList();
+        }
+
+        return ((List<Object>) roles).stream()
+                .map(role -> new SimpleGrantedAuthority(ROLE_PREFIX + role))
+                .collect(Collectors.toList());
+
+    }
+
+}
@@ -4,10 +4,10 @@ import com.cydeo.dto.UserDTO;
 
 public interface KeycloakService {
 
-    void userCreate(UserDTO userDTO);
+    String userCreate(UserDTO userDTO);
 
-    void userUpdate(UserDTO userDTO);
+    String userUpdate(UserDTO userDTO);
 
-    void delete(String userName);
+    void delete(String userName, String keycloakId);
 
 }
@@ -0,0 +1,23 @@
+package com.cydeo.service;
+
+import com.cydeo.dto.KeycloakSyncOperationDTO;
+import com.cydeo.dto.KeycloakSyncStatusDTO;
+import com.cydeo.dto.UserDTO;
+
+import java.util.List;
+
+public interface KeycloakSyncService {
+
+    void enqueueCreate(UserDTO userDTO);
+
+    void enqueueCreateAll(List<UserDTO> userDTOs);
+
+    void enqueueUpdate(UserDTO userDTO);
+
+    void enqueueDelete(String userName, String keycloakId);
+
+    KeycloakSyncStatusDTO readStatus();
+
+    List<KeycloakSyncOperationDTO> readOperations(String userName);
+
+}
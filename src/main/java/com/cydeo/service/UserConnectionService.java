@@ -0,0 +1,11 @@
+package com.cydeo.service;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface UserConnectionService {
+
+    void checkUserConnections(String role, String userName);
+
+    CompletableFuture<Integer> countUserConnectionsAsync(String role, String userName);
+
+}
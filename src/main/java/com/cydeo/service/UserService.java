@@ -1,18 +1,31 @@
 package com.cydeo.service;
 
+import com.cydeo.dto.BulkUserResultDTO;
 import com.cydeo.dto.UserDTO;
+import com.cydeo.dto.UserPageDTO;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface UserService {
 
     UserDTO create(UserDTO dto);
+    List<BulkUserResultDTO> createAll(List<UserDTO> userDTOs);
 
     UserDTO readByUserName(String username);
+    Map<String, UserDTO> readByUserNames(List<String> userNames);
     List<UserDTO> readAllUsers();
+    UserPageDTO readUsersPage(String pageToken, Integer size);
+    Optional<String> readETag(String userName);
+    String readAllUsersETag();
+    void exportAllUsers(Consumer<UserDTO> consumer);
     boolean checkByUserName(String userName);
+    Map<String, Boolean> checkByUserNames(List<String> userNames);
 
     UserDTO update(String username, UserDTO userDTO);
     void delete(String username);
+    Map<String, Boolean> checkDeletable(List<String> userNames);
 
 }
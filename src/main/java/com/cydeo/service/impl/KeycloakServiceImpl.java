@@ -1,21 +1,30 @@
 package com.cydeo.service.impl;
 
+import com.cydeo.cache.KeycloakClientCache;
+import com.cydeo.cache.KeycloakUserIdCache;
+import com.cydeo.client.KeycloakAdminClient;
 import com.cydeo.config.KeycloakProperties;
 import com.cydeo.dto.UserDTO;
 import com.cydeo.exception.UserNotFoundException;
+import com.cydeo.metrics.CallMetrics;
 import com.cydeo.service.KeycloakService;
-import org.keycloak.admin.client.Keycloak;
+import io.micrometer.core.instrument.Tags;
 import org.keycloak.admin.client.resource.RealmResource;
+import org.keycloak.admin.client.resource.RoleScopeResource;
 import org.keycloak.admin.client.resource.UsersResource;
-import org.keycloak.representations.idm.ClientRepresentation;
 import org.keycloak.representations.idm.CredentialRepresentation;
 import org.keycloak.representations.idm.RoleRepresentation;
 import org.keycloak.representations.idm.UserRepresentation;
 import org.springframework.stereotype.Service;
 
+import javax.ws.rs.NotFoundException;
 import javax.ws.rs.core.Response;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import static java.util.Arrays.asList;
 import static org.keycloak.admin.client.CreatedResponseUtil.getCreatedId;
@@ -25,13 +34,23 @@ public class KeycloakServiceImpl implements KeycloakService {
 
 
     private final KeycloakProperties keycloakProperties;
-
-    public KeycloakServiceImpl(KeycloakProperties keycloakProperties) {
+    private final KeycloakAdminClient keycloakAdminClient;
+    private final KeycloakClientCache keycloakClientCache;
+    private final KeycloakUserIdCache keycloakUserIdCache;
+    private final CallMetrics callMetrics;
+
+    public KeycloakServiceImpl(KeycloakProperties keycloakProperties, KeycloakAdminClient keycloakAdminClient,
+                               KeycloakClientCache keycloakClientCache, KeycloakUserIdCache keycloakUserIdCache,
+                               CallMetrics callMetrics) {
         this.keycloakProperties = keycloakProperties;
+        this.keycloakAdminClient = keycloakAdminClient;
+        this.keycloakClientCache = keycloakClientCache;
+        this.keycloakUserIdCache = keycloakUserIdCache;
+        this.callMetrics = callMetrics;
     }
 
     @Override
-    public void userCreate(UserDTO userDTO) {
+    public String userCreate(UserDTO userDTO) {
 
         CredentialRepresentation credential = new CredentialRepresentation();
         credential.setType(CredentialRepresentation.PASSWORD);
@@ -47,101 +66,179 @@ public class KeycloakServiceImpl implements KeycloakService {
         keycloakUser.setEmailVerified(true);
         keycloakUser.setEnabled(true);
 
-        try (Keycloak keycloak = getKeycloakInstance()) {
+        RealmResource realmResource = keycloakAdminClient.realm();
+        UsersResource usersResource = realmResource.users();
 
-            RealmResource realmResource = keycloak.realm(keycloakProperties.getRealm());
-            UsersResource usersResource = realmResource.users();
+        Response result = adminCall("create", () -> usersResource.create(keycloakUser));
 
-            Response result = usersResource.create(keycloakUser);
+        boolean existing = result.getStatus() == Response.Status.CONFLICT.getStatusCode();
+        String userId;
 
-            String userId = getCreatedId(result);
-            ClientRepresentation appClient = realmResource.clients()
-                    .findByClientId(keycloakProperties.getClientId()).get(0);
+        try {
+            userId = existing
+                    ? searchUserId(usersResource, userDTO.getUserName())
+                    .orElseThrow(() -> new UserNotFoundException("User not found!"))
+                    : getCreatedId(result);
+        } finally {
+            result.close();
+        }
 
-            RoleRepresentation userClientRole = realmResource.clients().get(appClient.getId()) //
-                    .roles().get(userDTO.getRole().getDescription()).toRepresentation();
+        keycloakUserIdCache.put(userDTO.getUserName(), userId);
 
-            realmResource.users().get(userId).roles().clientLevel(appClient.getId())
-                    .add(List.of(userClientRole));
+        // A freshly created user has no client roles yet; only a retried create has to reconcile them.
+        if (existing) {
+            updateRoles(realmResource, userId, userDTO.getRole().getDescription());
+        } else {
+            addRole(realmResource, userId, userDTO.getRole().getDescription());
         }
 
+        return userId;
+
     }
 
     @Override
-    public void userUpdate(UserDTO userDTO) {
+    public String userUpdate(UserDTO userDTO) {
 
-        try (Keycloak keycloak = getKeycloakInstance()) {
+        RealmResource realmResource = keycloakAdminClient.realm();
+        UsersResource usersResource = realmResource.users();
 
-            RealmResource realmResource = keycloak.realm(keycloakProperties.getRealm());
-            UsersResource usersResource = realmResource.users();
+        String userId = resolveUserId(usersResource, userDTO.getUserName(), userDTO.getKeycloakId())
+                .orElseThrow(() -> new UserNotFoundException("User not found!"));
 
-            List<UserRepresentation> userRepresentations = usersResource.search(userDTO.getUserName());
-
-            if (userRepresentations.isEmpty()) {
-                throw new UserNotFoundException("User not found!");
-            }
+        try {
+            applyUpdate(realmResource, userId, userDTO);
+        } catch (NotFoundException exception) {
+            keycloakUserIdCache.evict(userDTO.getUserName());
+            userId = searchUserId(usersResource, userDTO.getUserName())
+                    .orElseThrow(() -> new UserNotFoundException("User not found!"));
+            applyUpdate(realmResource, userId, userDTO);
+        }
 
-            UserRepresentation keycloakUser = userRepresentations.get(0);
+        return userId;
 
-            updateRoles(realmResource, keycloakUser.getId(), userDTO.getRole().getDescription());
+    }
 
-            keycloakUser.setFirstName(userDTO.getFirstName());
-            keycloakUser.setLastName(userDTO.getLastName());
+    @Override
+    public void delete(String userName, String keycloakId) {
 
-            if (userDTO.getPassword() != null && !userDTO.getPassword().isEmpty()) {
-                updatePassword(usersResource, keycloakUser.getId(), userDTO.getPassword());
-            }
+        UsersResource usersResource = keycloakAdminClient.realm().users();
 
-            usersResource.get(keycloakUser.getId()).update(keycloakUser);
+        Optional<String> userId = resolveUserId(usersResource, userName, keycloakId);
 
+        if (userId.isPresent() && deleteById(usersResource, userId.get()) == Response.Status.NOT_FOUND.getStatusCode()) {
+            searchUserId(usersResource, userName).ifPresent(currentUserId -> deleteById(usersResource, currentUserId));
         }
 
+        keycloakUserIdCache.evict(userName);
+
     }
 
-    @Override
-    public void delete(String userName) {
+    private void applyUpdate(RealmResource realmResource, String userId, UserDTO userDTO) {
 
-        try (Keycloak keycloak = getKeycloakInstance()) {
+        updateRoles(realmResource, userId, userDTO.getRole().getDescription());
 
-            RealmResource realmResource = keycloak.realm(keycloakProperties.getRealm());
-            UsersResource usersResource = realmResource.users();
+        if (userDTO.getPassword() != null && !userDTO.getPassword().isEmpty()) {
+            updatePassword(realmResource.users(), userId, userDTO.getPassword());
+        }
 
-            List<UserRepresentation> userRepresentations = usersResource.search(userName);
-            String uid = userRepresentations.get(0).getId();
+        UserRepresentation keycloakUser = new UserRepresentation();
+        keycloakUser.setFirstName(userDTO.getFirstName());
+        keycloakUser.setLastName(userDTO.getLastName());
+
+        adminCall("update", () -> realmResource.users().get(userId).update(keycloakUser));
+
+    }
+
+    private int deleteById(UsersResource usersResource, String userId) {
+        Response response = adminCall("delete", () -> usersResource.delete(userId));
+        response.close();
+        return response.getStatus();
+    }
 
-            usersResource.delete(uid);
+    private Optional<String> resolveUserId(UsersResource usersResource, String userName, String keycloakId) {
 
+        if (keycloakId != null) {
+            return Optional.of(keycloakId);
         }
 
+        String cachedUserId = keycloakUserIdCache.get(userName);
+
+        if (cachedUserId != null) {
+            return Optional.of(cachedUserId);
+        }
+
+        Optional<String> userId = searchUserId(usersResource, userName);
+        userId.ifPresent(foundUserId -> keycloakUserIdCache.put(userName, foundUserId));
+
+        return userId;
+
     }
 
-    private Keycloak getKeycloakInstance() {
-        return Keycloak.getInstance(
-                keycloakProperties.getAuthServerUrl(),
-                keycloakProperties.getMasterRealm(),
-                keycloakProperties.getMasterUser(),
-                keycloakProperties.getMasterUserPswd(),
-                keycloakProperties.getMasterClient());
+    private Optional<String> searchUserId(UsersResource usersResource, String userName) {
+        return adminCall("search", () -> usersResource.search(userName, true)).stream()
+                .filter(user -> userName.equalsIgnoreCase(user.getUsername()))
+                .map(UserRepresentation::getId)
+                .findFirst();
+    }
+
+    private void addRole(RealmResource realmResource, String userId, String role) {
+
+        RoleScopeResource clientRoles = getClientRoles(realmResource, userId);
+        RoleRepresentation userClientRole = getClientRole(realmResource, role);
+
+        adminCall("role-add", () -> clientRoles.add(Collections.singletonList(userClientRole)));
+
     }
 
     private void updateRoles(RealmResource realmResource, String userId, String role) {
 
-        ClientRepresentation appClient = realmResource.clients()
-                .findByClientId(keycloakProperties.getClientId()).get(0);
+        RoleScopeResource clientRoles = getClientRoles(realmResource, userId);
+        RoleRepresentation userClientRole = getClientRole(realmResource, role);
+
+        reconcileRoles(clientRoles, Collections.singletonList(userClientRole));
+
+    }
+
+    private void reconcileRoles(RoleScopeResource clientRoles, List<RoleRepresentation> desiredRoles) {
+
+        List<RoleRepresentation> existingRoles = adminCall("role-list", clientRoles::listAll);
+
+        Set<String> existingRoleNames = existingRoles.stream()
+                .map(RoleRepresentation::getName)
+                .collect(Collectors.toSet());
+        Set<String> desiredRoleNames = desiredRoles.stream()
+                .map(RoleRepresentation::getName)
+                .collect(Collectors.toSet());
 
-        String clientId = appClient.getId();
+        List<RoleRepresentation> rolesToRemove = existingRoles.stream()
+                .filter(existingRole -> !desiredRoleNames.contains(existingRole.getName()))
+                .collect(Collectors.toList());
+        List<RoleRepresentation> rolesToAdd = desiredRoles.stream()
+                .filter(desiredRole -> !existingRoleNames.contains(desiredRole.getName()))
+                .collect(Collectors.toList());
 
-        List<RoleRepresentation> existingRoles = realmResource.users().get(userId)
-                .roles().clientLevel(clientId).listEffective();
-        existingRoles.forEach(existingRole -> realmResource.users().get(userId)
-                .roles().clientLevel(clientId).remove(Collections.singletonList(existingRole)));
+        if (!rolesToRemove.isEmpty()) {
+            adminCall("role-remove", () -> clientRoles.remove(rolesToRemove));
+        }
+
+        if (!rolesToAdd.isEmpty()) {
+            adminCall("role-add", () -> clientRoles.add(rolesToAdd));
+        }
 
-        RoleRepresentation userClientRole = realmResource.clients().get(clientId)
-                .roles().get(role).toRepresentation();
+    }
 
-        realmResource.users().get(userId).roles().clientLevel(clientId)
-                .add(Collections.singletonList(userClientRole));
+    private RoleScopeResource getClientRoles(RealmResource realmResource, String userId) {
+        return realmResource.users().get(userId).roles().clientLevel(getClientUuid(realmResource));
+    }
 
+    private String getClientUuid(RealmResource realmResource) {
+        return keycloakClientCache.getClientUuid(realmResource,
+                keycloakProperties.getRealm(), keycloakProperties.getClientId());
+    }
+
+    private RoleRepresentation getClientRole(RealmResource realmResource, String role) {
+        return keycloakClientCache.getRole(realmResource,
+                keycloakProperties.getRealm(), keycloakProperties.getClientId(), role);
     }
 
     private void updatePassword(UsersResource usersResource, String userId, String newPassword) {
@@ -151,8 +248,18 @@ public class KeycloakServiceImpl implements KeycloakService {
         credential.setTemporary(false);
         credential.setValue(newPassword);
 
-        usersResource.get(userId).resetPassword(credential);
+        adminCall("password-reset", () -> usersResource.get(userId).resetPassword(credential));
+
+    }
+
+    private <T> T adminCall(String operation, Supplier<T> call) {
+        return callMetrics.record("keycloak.admin.requests", "Duration of Keycloak admin API calls",
+                Tags.of("operation", operation), call);
+    }
 
+    private void adminCall(String operation, Runnable call) {
+        callMetrics.record("keycloak.admin.requests", "Duration of Keycloak admin API calls",
+                Tags.of("operation", operation), call);
     }
 
 }
@@ -0,0 +1,96 @@
+package com.cydeo.service.impl;
+
+import com.cydeo.dto.KeycloakSyncOperationDTO;
+import com.cydeo.dto.KeycloakSyncStatusDTO;
+import com.cydeo.dto.UserDTO;
+import com.cydeo.entity.KeycloakSyncOperation;
+import com.cydeo.enums.SyncOperationType;
+import com.cydeo.enums.SyncStatus;
+import com.cydeo.repository.KeycloakSyncOperationRepository;
+import com.cydeo.service.KeycloakSyncService;
+import com.cydeo.util.MapperUtil;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+public class KeycloakSyncServiceImpl implements KeycloakSyncService {
+
+    private final KeycloakSyncOperationRepository keycloakSyncOperationRepository;
+    private final MapperUtil mapperUtil;
+
+    public KeycloakSyncServiceImpl(KeycloakSyncOperationRepository keycloakSyncOperationRepository, MapperUtil mapperUtil) {
+        this.keycloakSyncOperationRepository = keycloakSyncOperationRepository;
+        this.mapperUtil = mapperUtil;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueCreate(UserDTO userDTO) {
+        keycloakSyncOperationRepository.save(newOperation(SyncOperationType.CREATE, userDTO));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueCreateAll(List<UserDTO> userDTOs) {
+        keycloakSyncOperationRepository.saveAll(userDTOs.stream()
+                .map(userDTO -> newOperation(SyncOperationType.CREATE, userDTO))
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueUpdate(UserDTO userDTO) {
+        keycloakSyncOperationRepository.save(newOperation(SyncOperationType.UPDATE, userDTO));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueDelete(String userName, String keycloakId) {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setUserName(userName);
+        userDTO.setKeycloakId(keycloakId);
+        keycloakSyncOperationRepository.save(newOperation(SyncOperationType.DELETE, userDTO));
+    }
+
+    @Override
+    public KeycloakSyncStatusDTO readStatus() {
+        return KeycloakSyncStatusDTO.builder()
+                .pending(keycloakSyncOperationRepository.countByStatus(SyncStatus.PENDING))
+                .processing(keycloakSyncOperationRepository.countByStatus(SyncStatus.PROCESSING))
+                .failed(keycloakSyncOperationRepository.countByStatus(SyncStatus.FAILED))
+                .oldestPendingSince(keycloakSyncOperationRepository.findFirstByStatusOrderByIdAsc(SyncStatus.PENDING)
+                        .map(KeycloakSyncOperation::getInsertDateTime)
+                        .orElse(null))
+                .build();
+    }
+
+    @Override
+    public List<KeycloakSyncOperationDTO> readOperations(String userName) {
+        return keycloakSyncOperationRepository.findAllByUserNameOrderByIdDesc(userName).stream()
+                .map(operation -> mapperUtil.convert(operation, KeycloakSyncOperationDTO.class))
+                .collect(Collectors.toList());
+    }
+
+    private KeycloakSyncOperation newOperation(SyncOperationType operationType, UserDTO userDTO) {
+
+        KeycloakSyncOperation operation = new KeycloakSyncOperation();
+        operation.setOperationType(operationType);
+        operation.setUserName(userDTO.getUserName());
+        operation.setKeycloakId(userDTO.getKeycloakId());
+        operation.setFirstName(userDTO.getFirstName());
+        operation.setLastName(userDTO.getLastName());
+        operation.setPassword(userDTO.getPassword());
+        operation.setRoleDescription(userDTO.getRole() == null ? null : userDTO.getRole().getDescription());
+        operation.setStatus(SyncStatus.PENDING);
+        operation.setNextAttemptAt(LocalDateTime.now());
+
+        return operation;
+
+    }
+
+}
@@ -1,33 +1,25 @@
 package com.cydeo.service.impl;
 
+import com.cydeo.cache.RoleRegistry;
 import com.cydeo.dto.RoleDTO;
-import com.cydeo.entity.Role;
 import com.cydeo.exception.RoleNotFoundException;
-import com.cydeo.repository.RoleRepository;
 import com.cydeo.service.RoleService;
-import com.cydeo.util.MapperUtil;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @Service
 public class RoleServiceImpl implements RoleService {
 
 
-    private final RoleRepository roleRepository;
-    private final MapperUtil mapperUtil;
+    private final RoleRegistry roleRegistry;
 
-    public RoleServiceImpl(RoleRepository roleRepository, MapperUtil mapperUtil) {
-        this.roleRepository = roleRepository;
-        this.mapperUtil = mapperUtil;
+    public RoleServiceImpl(RoleRegistry roleRegistry) {
+        this.roleRegistry = roleRegistry;
     }
 
     @Override
     public RoleDTO readByDescription(String description) {
-        Role role = roleRepository.findByDescription(description)
+        return roleRegistry.findByDescription(description)
                 .orElseThrow(() -> new RoleNotFoundException("Role does not exist."));
-        return mapperUtil.convert(role, new RoleDTO());
     }
 
 }
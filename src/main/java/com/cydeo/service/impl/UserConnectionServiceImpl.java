@@ -0,0 +1,161 @@
+package com.cydeo.service.impl;
+
+import com.cydeo.client.ProjectClient;
+import com.cydeo.client.TaskClient;
+import com.cydeo.config.CacheConfig;
+import com.cydeo.dto.ProjectResponseDTO;
+import com.cydeo.dto.TaskResponseDTO;
+import com.cydeo.exception.ProjectCountNotRetrievedException;
+import com.cydeo.exception.TaskCountNotRetrievedException;
+import com.cydeo.exception.UserCanNotBeDeletedException;
+import com.cydeo.metrics.CallMetrics;
+import com.cydeo.service.UserConnectionService;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+@Service
+public class UserConnectionServiceImpl implements UserConnectionService {
+
+    private final ProjectClient projectClient;
+    private final TaskClient taskClient;
+    private final ExecutorService downstreamExecutor;
+    private final CircuitBreaker projectCircuitBreaker;
+    private final CircuitBreaker taskCircuitBreaker;
+    private final Bulkhead projectBulkhead;
+    private final Bulkhead taskBulkhead;
+    private final Cache<String, Integer> connectionCountFallbacks;
+    private final CallMetrics callMetrics;
+
+    public UserConnectionServiceImpl(ProjectClient projectClient, TaskClient taskClient,
+                                     @Qualifier("downstreamExecutor") ExecutorService downstreamExecutor,
+                                     CircuitBreakerRegistry circuitBreakerRegistry, BulkheadRegistry bulkheadRegistry,
+                                     CacheManager jCacheManager, CallMetrics callMetrics) {
+        this.projectClient = projectClient;
+        this.taskClient = taskClient;
+        this.downstreamExecutor = downstreamExecutor;
+        this.projectCircuitBreaker = circuitBreakerRegistry.circuitBreaker("project-service");
+        this.taskCircuitBreaker = circuitBreakerRegistry.circuitBreaker("task-service");
+        this.projectBulkhead = bulkheadRegistry.bulkhead("project-service");
+        this.taskBulkhead = bulkheadRegistry.bulkhead("task-service");
+        this.connectionCountFallbacks = jCacheManager.getCache(CacheConfig.CONNECTION_COUNT_FALLBACK_CACHE, String.class, Integer.class);
+        this.callMetrics = callMetrics;
+    }
+
+    @Override
+    public void checkUserConnections(String role, String userName) {
+
+        Integer projectCount = 0;
+        Integer taskCount = 0;
+
+        switch (role) {
+            case "Manager":
+                projectCount = getProjectCount(userName);
+                break;
+            case "Employee":
+                taskCount = getTaskCount(userName);
+                break;
+        }
+
+        if (projectCount > 0 || taskCount > 0) {
+            throw new UserCanNotBeDeletedException("User can not be deleted. User is linked to a project(s) or a task(s).");
+        }
+
+    }
+
+    @Override
+    public CompletableFuture<Integer> countUserConnectionsAsync(String role, String userName) {
+
+        CompletableFuture<Integer> projectCount = "Manager".equals(role)
+                ? CompletableFuture.supplyAsync(() -> getProjectCount(userName), downstreamExecutor)
+                : CompletableFuture.completedFuture(0);
+
+        CompletableFuture<Integer> taskCount = "Employee".equals(role)
+                ? CompletableFuture.supplyAsync(() -> getTaskCount(userName), downstreamExecutor)
+                : CompletableFuture.completedFuture(0);
+
+        return projectCount.thenCombine(taskCount, Integer::sum);
+
+    }
+
+    private Integer getProjectCount(String userName) {
+        return callWithFallback(projectCircuitBreaker, projectBulkhead, "project:" + userName,
+                () -> fetchProjectCount(userName),
+                () -> new ProjectCountNotRetrievedException("Project count cannot be retrieved."));
+    }
+
+    private Integer getTaskCount(String userName) {
+        return callWithFallback(taskCircuitBreaker, taskBulkhead, "task:" + userName,
+                () -> fetchTaskCount(userName),
+                () -> new TaskCountNotRetrievedException("Task count cannot be retrieved."));
+    }
+
+    private Integer callWithFallback(CircuitBreaker circuitBreaker, Bulkhead bulkhead, String fallbackKey,
+                                     Supplier<Integer> countCall, Supplier<RuntimeException> notRetrievedException) {
+
+        Integer count;
+
+        try {
+            count = CircuitBreaker.decorateSupplier(circuitBreaker, Bulkhead.decorateSupplier(bulkhead, countCall)).get();
+        } catch (RuntimeException exception) {
+            Integer lastKnownCount = connectionCountFallbacks.get(fallbackKey);
+            if (lastKnownCount != null) {
+                return lastKnownCount;
+            }
+            throw notRetrievedException.get();
+        }
+
+        if (count > 0) {
+            connectionCountFallbacks.put(fallbackKey, count);
+        } else {
+            connectionCountFallbacks.remove(fallbackKey);
+        }
+
+        return count;
+
+    }
+
+    private Integer fetchProjectCount(String userName) {
+
+        ResponseEntity<ProjectResponseDTO> projectResponse = downstreamCall("project-service", "getCountByAssignedManager",
+                () -> projectClient.getCountByAssignedManager(userName));
+
+        if (Objects.requireNonNull(projectResponse.getBody()).isSuccess()) {
+            return projectResponse.getBody().getData();
+        }
+
+        throw new ProjectCountNotRetrievedException("Project count cannot be retrieved.");
+
+    }
+
+    private Integer fetchTaskCount(String userName) {
+
+        ResponseEntity<TaskResponseDTO> taskResponse = downstreamCall("task-service", "getCountByAssignedEmployee",
+                () -> taskClient.getCountByAssignedEmployee(userName));
+
+        if (Objects.requireNonNull(taskResponse.getBody()).isSuccess()) {
+            return taskResponse.getBody().getData();
+        }
+
+        throw new TaskCountNotRetrievedException("Task count cannot be retrieved.");
+
+    }
+
+    private <T> T downstreamCall(String client, String method, Supplier<T> call) {
+        return callMetrics.record("downstream.requests", "Duration of Feign calls to downstream services",
+                Tags.of("client", client, "method", method), call);
+    }
+
+}
@@ -1,50 +1,74 @@
 package com.cydeo.service.impl;
 
-import com.cydeo.client.ProjectClient;
-import com.cydeo.client.TaskClient;
-import com.cydeo.dto.ProjectResponseDTO;
-import com.cydeo.dto.TaskResponseDTO;
+import com.cydeo.cache.UserExistenceCache;
+import com.cydeo.cache.UserResponseCache;
+import com.cydeo.config.BatchProperties;
+import com.cydeo.config.PaginationProperties;
+import com.cydeo.dto.BulkUserResultDTO;
 import com.cydeo.dto.UserDTO;
+import com.cydeo.dto.UserPageDTO;
 import com.cydeo.entity.User;
 import com.cydeo.exception.*;
 import com.cydeo.repository.UserRepository;
-import com.cydeo.service.KeycloakService;
+import com.cydeo.service.KeycloakSyncService;
+import com.cydeo.service.UserConnectionService;
 import com.cydeo.service.UserService;
 import com.cydeo.util.MapperUtil;
-import org.keycloak.adapters.springsecurity.token.KeycloakAuthenticationToken;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
-import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
-
-import java.util.List;
-import java.util.Objects;
-import java.util.Optional;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
-    private final ProjectClient projectClient;
-    private final TaskClient taskClient;
+    private final UserConnectionService userConnectionService;
     private final MapperUtil mapperUtil;
-    private final KeycloakService keycloakService;
-
-    public UserServiceImpl(UserRepository userRepository, ProjectClient projectClient, TaskClient taskClient,
-                           MapperUtil mapperUtil, KeycloakService keycloakService) {
+    private final KeycloakSyncService keycloakSyncService;
+    private final Validator validator;
+    private final BatchProperties batchProperties;
+    private final PaginationProperties paginationProperties;
+    private final EntityManager entityManager;
+    private final UserExistenceCache userExistenceCache;
+    private final UserResponseCache userResponseCache;
+
+    public UserServiceImpl(UserRepository userRepository, UserConnectionService userConnectionService,
+                           MapperUtil mapperUtil, KeycloakSyncService keycloakSyncService, Validator validator,
+                           BatchProperties batchProperties, PaginationProperties paginationProperties, EntityManager entityManager,
+                           UserExistenceCache userExistenceCache, UserResponseCache userResponseCache) {
         this.userRepository = userRepository;
-        this.projectClient = projectClient;
-        this.taskClient = taskClient;
+        this.userConnectionService = userConnectionService;
         this.mapperUtil = mapperUtil;
-        this.keycloakService = keycloakService;
+        this.keycloakSyncService = keycloakSyncService;
+        this.validator = validator;
+        this.batchProperties = batchProperties;
+        this.paginationProperties = paginationProperties;
+        this.entityManager = entityManager;
+        this.userExistenceCache = userExistenceCache;
+        this.userResponseCache = userResponseCache;
     }
 
     @Override
+    @Transactional
     public UserDTO create(UserDTO userDTO) {
 
-        Optional<User> foundUser = userRepository.findByUserNameAndIsDeleted(userDTO.getUserName(), false);
+        Optional<User> foundUser = userRepository.findActiveByUserName(userDTO.getUserName());
 
         if (foundUser.isPresent()) {
             throw new UserAlreadyExistsException("User already exists.");
@@ -52,56 +76,245 @@ public class UserServiceImpl implements UserService {
 
         userDTO.setEnabled(true);
 
-        User userToSave = mapperUtil.convert(userDTO, new User());
+        User userToSave = mapperUtil.convert(userDTO, User.class);
 
-        keycloakService.userCreate(userDTO);
         User savedUser = userRepository.save(userToSave);
+        keycloakSyncService.enqueueCreate(userDTO);
+        evictAfterCommit(List.of(savedUser.getUserName()));
 
-        return mapperUtil.convert(savedUser, new UserDTO());
+        return mapperUtil.convert(savedUser, UserDTO.class);
+
+    }
+
+    @Override
+    @Transactional
+    public List<BulkUserResultDTO> createAll(List<UserDTO> userDTOs) {
+
+        if (userDTOs.size() > batchProperties.getCreateMaxSize()) {
+            throw new BatchSizeExceededException("At most " + batchProperties.getCreateMaxSize() + " users can be created at once.");
+        }
+
+        BulkUserResultDTO[] results = new BulkUserResultDTO[userDTOs.size()];
+        Map<Integer, UserDTO> usersToCreate = validateAll(userDTOs, results);
+
+        Set<String> existingUserNames = new HashSet<>(userRepository.findExistingUserNames(
+                usersToCreate.values().stream().map(UserDTO::getUserName).collect(Collectors.toList())));
+
+        List<Integer> rowsToSave = new ArrayList<>();
+        List<UserDTO> userDTOsToSave = new ArrayList<>();
+        List<User> usersToSave = new ArrayList<>();
+
+        usersToCreate.forEach((row, userDTO) -> {
+            if (existingUserNames.contains(userDTO.getUserName())) {
+                results[row] = failedRow(row, userDTO, "User already exists.");
+            } else {
+                userDTO.setEnabled(true);
+                rowsToSave.add(row);
+                userDTOsToSave.add(userDTO);
+                usersToSave.add(mapperUtil.convert(userDTO, User.class));
+            }
+        });
+
+        List<User> savedUsers = userRepository.saveAll(usersToSave);
+        keycloakSyncService.enqueueCreateAll(userDTOsToSave);
+        evictAfterCommit(savedUsers.stream().map(User::getUserName).collect(Collectors.toList()));
+
+        for (int i = 0; i < savedUsers.size(); i++) {
+            int row = rowsToSave.get(i);
+            results[row] = BulkUserResultDTO.builder()
+                    .row(row)
+                    .userName(savedUsers.get(i).getUserName())
+                    .success(true)
+                    .message("User is successfully created.")
+                    .data(mapperUtil.convert(savedUsers.get(i), UserDTO.class))
+                    .build();
+        }
+
+        return Arrays.asList(results);
 
     }
 
     @Override
     public UserDTO readByUserName(String username) {
-        User foundUser = userRepository.findByUserNameAndIsDeleted(username, false)
+        User foundUser = userRepository.findActiveByUserName(username)
                 .orElseThrow(() -> new UserNotFoundException("User does not exist."));
-        return mapperUtil.convert(foundUser, new UserDTO());
+        return mapperUtil.convert(foundUser, UserDTO.class);
+    }
+
+    @Override
+    public Map<String, UserDTO> readByUserNames(List<String> userNames) {
+
+        checkLookupUserNames(userNames);
+
+        Map<String, UserDTO> foundUsers = new LinkedHashMap<>();
+
+        if (!userNames.isEmpty()) {
+            userRepository.findAllActiveByUserNames(new HashSet<>(userNames))
+                    .forEach(user -> foundUsers.put(user.getUserName(), mapperUtil.convert(user, UserDTO.class)));
+        }
+
+        return foundUsers;
+
     }
 
     @Override
     public List<UserDTO> readAllUsers() {
         List<User> foundUsers = userRepository.findAllByIsDeleted(false, Sort.by("firstName"));
-        return foundUsers.stream().map(user -> mapperUtil.convert(user, new UserDTO()))
+        return foundUsers.stream().map(user -> mapperUtil.convert(user, UserDTO.class))
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public UserPageDTO readUsersPage(String pageToken, Integer size) {
+
+        int pageSize = size == null ? paginationProperties.getDefaultSize()
+                : Math.max(1, Math.min(size, paginationProperties.getMaxSize()));
+        PageRequest pageRequest = PageRequest.of(0, pageSize);
+
+        List<User> foundUsers;
+
+        if (pageToken == null || pageToken.isEmpty()) {
+            foundUsers = userRepository.findFirstPage(pageRequest);
+        } else {
+            User lastUser = decodePageToken(pageToken);
+            foundUsers = userRepository.findPageAfter(lastUser.getFirstName(), lastUser.getId(), pageRequest);
+        }
+
+        String nextPageToken = foundUsers.size() < pageSize ? null
+                : encodePageToken(foundUsers.get(foundUsers.size() - 1));
+
+        return UserPageDTO.builder()
+                .users(foundUsers.stream().map(user -> mapperUtil.convert(user, UserDTO.class))
+                        .collect(Collectors.toList()))
+                .nextPageToken(nextPageToken)
+                .build();
+
+    }
+
+    @Override
+    public Optional<String> readETag(String userName) {
+        return userRepository.findVersionByUserName(userName)
+                .map(version -> eTag(version.getId(), version.getLastUpdateDateTime()));
+    }
+
+    @Override
+    public String readAllUsersETag() {
+        UserRepository.UserCollectionVersion version = userRepository.findCollectionVersion();
+        return eTag(version.getCount(), version.getLastUpdateDateTime());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAllUsers(Consumer<UserDTO> consumer) {
+        try (Stream<User> foundUsers = userRepository.streamAllActive()) {
+            foundUsers.forEach(user -> {
+                consumer.accept(mapperUtil.convert(user, UserDTO.class));
+                entityManager.detach(user);
+            });
+        }
+    }
+
     @Override
     public boolean checkByUserName(String username) {
-        userRepository.findByUserNameAndIsDeleted(username, false)
-                .orElseThrow(() -> new UserNotFoundException("User does not exist."));
+
+        Boolean exists = userExistenceCache.get(username);
+
+        if (exists == null) {
+            exists = userRepository.existsActiveByUserName(username);
+            userExistenceCache.put(username, exists);
+        }
+
+        if (!exists) {
+            throw new UserNotFoundException("User does not exist.");
+        }
+
         return true;
+
+    }
+
+    @Override
+    public Map<String, Boolean> checkByUserNames(List<String> userNames) {
+
+        checkLookupUserNames(userNames);
+
+        Map<String, Boolean> results = new LinkedHashMap<>();
+        List<String> uncachedUserNames = new ArrayList<>();
+
+        for (String userName : userNames) {
+            Boolean exists = userExistenceCache.get(userName);
+            results.put(userName, exists);
+            if (exists == null) {
+                uncachedUserNames.add(userName);
+            }
+        }
+
+        if (!uncachedUserNames.isEmpty()) {
+            Set<String> existingUserNames = new HashSet<>(userRepository.findExistingUserNames(uncachedUserNames));
+            uncachedUserNames.forEach(userName -> {
+                boolean exists = existingUserNames.contains(userName);
+                userExistenceCache.put(userName, exists);
+                results.put(userName, exists);
+            });
+        }
+
+        return results;
+
+    }
+
+    @Override
+    public Map<String, Boolean> checkDeletable(List<String> userNames) {
+
+        checkLookupUserNames(userNames);
+
+        Map<String, Boolean> results = new LinkedHashMap<>();
+        userNames.forEach(userName -> results.put(userName, false));
+
+        if (userNames.isEmpty()) {
+            return results;
+        }
+
+        Map<String, CompletableFuture<Integer>> connectionCounts = new LinkedHashMap<>();
+
+        userRepository.findAllActiveByUserNames(new HashSet<>(userNames)).forEach(user ->
+                connectionCounts.put(user.getUserName(), userConnectionService
+                        .countUserConnectionsAsync(user.getRole().getDescription(), user.getUserName())));
+
+        connectionCounts.forEach((userName, connectionCount) -> {
+            try {
+                results.put(userName, connectionCount.join() == 0);
+            } catch (CompletionException exception) {
+                results.put(userName, false);
+            }
+        });
+
+        return results;
+
     }
 
     @Override
+    @Transactional
     public UserDTO update(String username, UserDTO userDTO) {
 
-        User foundUser = userRepository.findByUserNameAndIsDeleted(username, false)
+        User foundUser = userRepository.findActiveByUserName(username)
                 .orElseThrow(() -> new UserNotFoundException("User does not exist."));
 
         userDTO.setUserName(username);
         userDTO.setEnabled(true);
         userDTO.setId(foundUser.getId());
+        userDTO.setKeycloakId(foundUser.getKeycloakId());
 
-        User userToUpdate = mapperUtil.convert(userDTO, new User());
+        User userToUpdate = mapperUtil.convert(userDTO, User.class);
 
-        keycloakService.userUpdate(userDTO);
         User updatedUser = userRepository.save(userToUpdate);
+        keycloakSyncService.enqueueUpdate(userDTO);
+        evictAfterCommit(List.of(username));
 
-        return mapperUtil.convert(updatedUser, new UserDTO());
+        return mapperUtil.convert(updatedUser, UserDTO.class);
 
     }
 
     @Override
+    @Transactional
     public void delete(String username) {
 
         User userToDelete = checkIfUserCanBeDeleted(username);
@@ -109,54 +322,108 @@ public class UserServiceImpl implements UserService {
         userToDelete.setUserName(username + "-" + userToDelete.getId());
         userToDelete.setIsDeleted(true);
 
-        keycloakService.delete(username);
         userRepository.save(userToDelete);
+        keycloakSyncService.enqueueDelete(username, userToDelete.getKeycloakId());
+        evictAfterCommit(List.of(username));
 
     }
 
-    private User checkIfUserCanBeDeleted(String username) {
+    private void evictAfterCommit(List<String> userNames) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                userNames.forEach(userName -> {
+                    userExistenceCache.evict(userName);
+                    userResponseCache.evictUser(userName);
+                });
+            }
+        });
+    }
 
-        User userToDelete = userRepository.findByUserNameAndIsDeleted(username, false)
-                .orElseThrow(() -> new UserNotFoundException("User does not exist."));
+    private void checkLookupUserNames(List<String> userNames) {
+        if (userNames.size() > batchProperties.getLookupMaxSize()) {
+            throw new BatchSizeExceededException("At most " + batchProperties.getLookupMaxSize() + " users can be looked up at once.");
+        }
+        if (userNames.stream().anyMatch(userName -> userName == null || userName.isBlank())) {
+            throw new InvalidUserNameException("User names must not be null or blank.");
+        }
+    }
 
-        checkUserConnections(userToDelete.getRole().getDescription(), username);
+    private Map<Integer, UserDTO> validateAll(List<UserDTO> userDTOs, BulkUserResultDTO[] results) {
 
-        return userToDelete;
+        Map<Integer, UserDTO> validUsers = new LinkedHashMap<>();
+        Set<String> userNames = new HashSet<>();
 
-    }
+        for (int row = 0; row < userDTOs.size(); row++) {
+
+            UserDTO userDTO = userDTOs.get(row);
+            Set<ConstraintViolation<UserDTO>> violations = validator.validate(userDTO);
+
+            if (!violations.isEmpty()) {
+                results[row] = failedRow(row, userDTO, violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(" ")));
+            } else if (!userNames.add(userDTO.getUserName())) {
+                results[row] = failedRow(row, userDTO, "User is duplicated in the request.");
+            } else {
+                validUsers.put(row, userDTO);
+            }
 
-    private void checkUserConnections(String role, String username) {
-
-        Integer projectCount = 0;
-        Integer taskCount = 0;
-
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        KeycloakAuthenticationToken keycloakAuthenticationToken = (KeycloakAuthenticationToken) authentication;
-        String accessToken = "Bearer " + keycloakAuthenticationToken.getAccount().getKeycloakSecurityContext().getTokenString();
-
-        switch (role) {
-            case "Manager":
-                ResponseEntity<ProjectResponseDTO> projectResponse = projectClient.getCountByAssignedManager(accessToken, username);
-                if (Objects.requireNonNull(projectResponse.getBody()).isSuccess()) {
-                    projectCount = projectResponse.getBody().getData();
-                } else {
-                    throw new ProjectCountNotRetrievedException("Project count cannot be retrieved.");
-                }
-                break;
-            case "Employee":
-                ResponseEntity<TaskResponseDTO> taskResponse = taskClient.getCountByAssignedEmployee(accessToken, username);
-                if (Objects.requireNonNull(taskResponse.getBody()).isSuccess()) {
-                    taskCount = taskResponse.getBody().getData();
-                } else {
-                    throw new TaskCountNotRetrievedException("Task count cannot be retrieved.");
-                }
-                break;
         }
 
-        if (projectCount > 0 || taskCount > 0) {
-            throw new UserCanNotBeDeletedException("User can not be deleted. User is linked to a project(s) or a task(s).");
+        return validUsers;
+
+    }
+
+    private String eTag(long discriminator, LocalDateTime lastUpdateDateTime) {
+        long lastUpdate = lastUpdateDateTime == null ? 0
+                : ChronoUnit.MICROS.between(LocalDateTime.of(1970, 1, 1, 0, 0), lastUpdateDateTime);
+        return "\"" + Long.toHexString(discriminator) + "-" + Long.toHexString(lastUpdate) + "\"";
+    }
+
+    private String encodePageToken(User user) {
+        String position = user.getId() + ":" + user.getFirstName();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private User decodePageToken(String pageToken) {
+
+        try {
+
+            String position = new String(Base64.getUrlDecoder().decode(pageToken), StandardCharsets.UTF_8);
+            int separatorIndex = position.indexOf(':');
+
+            User user = new User();
+            user.setId(Long.parseLong(position.substring(0, separatorIndex)));
+            user.setFirstName(position.substring(separatorIndex + 1));
+
+            return user;
+
+        } catch (IllegalArgumentException | IndexOutOfBoundsException exception) {
+            throw new InvalidPageTokenException("Page token is not valid.");
         }
 
     }
 
+    private BulkUserResultDTO failedRow(int row, UserDTO userDTO, String message) {
+        return BulkUserResultDTO.builder()
+                .row(row)
+                .userName(userDTO.getUserName())
+                .success(false)
+                .message(message)
+                .build();
+    }
+
+    private User checkIfUserCanBeDeleted(String username) {
+
+        User userToDelete = userRepository.findActiveByUserName(username)
+                .orElseThrow(() -> new UserNotFoundException("User does not exist."));
+
+        userConnectionService.checkUserConnections(userToDelete.getRole().getDescription(), username);
+
+        return userToDelete;
+
+    }
+
 }
@@ -0,0 +1,316 @@
+package com.cydeo.sync;
+
+import com.cydeo.client.KeycloakAdminClient;
+import com.cydeo.config.ReconciliationProperties;
+import com.cydeo.dto.UserDTO;
+import com.cydeo.entity.User;
+import com.cydeo.enums.DriftType;
+import com.cydeo.repository.KeycloakSyncOperationRepository;
+import com.cydeo.repository.UserRepository;
+import com.cydeo.service.KeycloakSyncService;
+import com.cydeo.util.MapperUtil;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.keycloak.admin.client.resource.UsersResource;
+import org.keycloak.representations.idm.UserRepresentation;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+public class KeycloakReconciliationJob {
+
+    private final UserRepository userRepository;
+    private final KeycloakSyncOperationRepository keycloakSyncOperationRepository;
+    private final KeycloakSyncService keycloakSyncService;
+    private final KeycloakAdminClient keycloakAdminClient;
+    private final ReconciliationProperties reconciliationProperties;
+    private final MapperUtil mapperUtil;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RateLimiter rateLimiter;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<DriftType, AtomicLong> lastDriftCounts = new EnumMap<>(DriftType.class);
+    private final Counter fixCounter;
+
+    public KeycloakReconciliationJob(UserRepository userRepository,
+                                     KeycloakSyncOperationRepository keycloakSyncOperationRepository,
+                                     KeycloakSyncService keycloakSyncService, KeycloakAdminClient keycloakAdminClient,
+                                     ReconciliationProperties reconciliationProperties, MapperUtil mapperUtil,
+                                     EntityManager entityManager, PlatformTransactionManager transactionManager,
+                                     RateLimiterRegistry rateLimiterRegistry, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.keycloakSyncOperationRepository = keycloakSyncOperationRepository;
+        this.keycloakSyncService = keycloakSyncService;
+        this.keycloakAdminClient = keycloakAdminClient;
+        this.reconciliationProperties = reconciliationProperties;
+        this.mapperUtil = mapperUtil;
+        this.entityManager = entityManager;
+        this.meterRegistry = meterRegistry;
+
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+
+        this.rateLimiter = rateLimiterRegistry.rateLimiter("keycloak-reconciliation", RateLimiterConfig.custom()
+                .limitForPeriod(reconciliationProperties.getRequestsPerSecond())
+                .limitRefreshPeriod(Duration.ofSeconds(1))
+                .timeoutDuration(Duration.ofSeconds(reconciliationProperties.getRateLimitTimeout()))
+                .build());
+
+        for (DriftType driftType : DriftType.values()) {
+            AtomicLong driftCount = new AtomicLong();
+            lastDriftCounts.put(driftType, driftCount);
+            Gauge.builder("keycloak.reconciliation.drift", driftCount, AtomicLong::get)
+                    .description("Number of users that differed between the database and Keycloak in the last run")
+                    .tag("type", driftType.name())
+                    .register(meterRegistry);
+        }
+
+        this.fixCounter = Counter.builder("keycloak.reconciliation.fixes")
+                .description("Number of reconciliation fixes enqueued for Keycloak synchronization")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${reconciliation.interval:3600000}",
+            initialDelayString = "${reconciliation.initial-delay:300000}")
+    public void reconcile() {
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+
+        try {
+            Reconciliation reconciliation = readOnlyTransactionTemplate.execute(status -> diff());
+            reconciliation.driftCounts.forEach((driftType, count) -> lastDriftCounts.get(driftType).set(count));
+            log.info("Keycloak reconciliation found {} (fixes {}).", reconciliation.driftCounts,
+                    reconciliationProperties.isApplyFixes() ? "applied" : "reported only");
+            if (reconciliationProperties.isApplyFixes()) {
+                applyFixes(reconciliation.fixes);
+            }
+        } catch (RuntimeException exception) {
+            outcome = "failure";
+            log.error("Keycloak reconciliation failed.", exception);
+        } finally {
+            sample.stop(Timer.builder("keycloak.reconciliation.duration")
+                    .description("Duration of Keycloak reconciliation runs")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+
+    }
+
+    private Reconciliation diff() {
+
+        Reconciliation reconciliation = new Reconciliation();
+        Set<String> unfinishedUserNames = keycloakSyncOperationRepository.findUnfinishedUserNames().stream()
+                .map(KeycloakReconciliationJob::key)
+                .collect(Collectors.toSet());
+        Set<String> remoteKeys = new HashSet<>();
+
+        // Keycloak lists users in its own database collation, so pages are matched by key instead of merged by order.
+        KeycloakUserPages remotePages = new KeycloakUserPages(keycloakAdminClient.realm().users());
+
+        while (remotePages.hasNext()) {
+
+            Map<String, UserRepresentation> remoteUsers = new LinkedHashMap<>();
+
+            for (UserRepresentation remoteUser : remotePages.next()) {
+                String remoteKey = key(remoteUser.getUsername());
+                if (remoteKeys.add(remoteKey)) {
+                    remoteUsers.put(remoteKey, remoteUser);
+                } else {
+                    log.debug("Skipping Keycloak user {} repeated across pages.", remoteUser.getUsername());
+                }
+            }
+
+            if (remoteUsers.isEmpty()) {
+                continue;
+            }
+
+            Map<String, User> localUsers = userRepository.findAllActiveByLowerCaseUserNames(remoteUsers.keySet()).stream()
+                    .collect(Collectors.toMap(user -> key(user.getUserName()), Function.identity(), (first, second) -> first));
+
+            remoteUsers.forEach((remoteKey, remoteUser) -> {
+
+                if (unfinishedUserNames.contains(remoteKey)) {
+                    return;
+                }
+
+                User localUser = localUsers.get(remoteKey);
+
+                if (localUser == null) {
+                    UserDTO userDTO = new UserDTO();
+                    userDTO.setUserName(remoteUser.getUsername());
+                    userDTO.setKeycloakId(remoteUser.getId());
+                    reconciliation.record(DriftType.MISSING_LOCALLY, userDTO);
+                } else if (!attributesMatch(localUser, remoteUser)) {
+                    UserDTO userDTO = toUserDTO(localUser);
+                    userDTO.setPassword(null);
+                    userDTO.setKeycloakId(remoteUser.getId());
+                    reconciliation.record(DriftType.ATTRIBUTES_MISMATCH, userDTO);
+                }
+
+            });
+
+            entityManager.clear();
+
+        }
+
+        try (Stream<User> localUsers = userRepository.streamAllActive()) {
+            localUsers.forEach(localUser -> {
+                String localKey = key(localUser.getUserName());
+                if (!remoteKeys.contains(localKey) && !unfinishedUserNames.contains(localKey)) {
+                    reconciliation.record(DriftType.MISSING_IN_KEYCLOAK, toUserDTO(localUser));
+                }
+                entityManager.detach(localUser);
+            });
+        }
+
+        return reconciliation;
+
+    }
+
+    private void applyFixes(List<Fix> fixes) {
+        fixes.forEach(fix -> {
+            RateLimiter.waitForPermission(rateLimiter);
+            Boolean enqueued = transactionTemplate.execute(status -> {
+                switch (fix.driftType) {
+                    case MISSING_IN_KEYCLOAK:
+                        keycloakSyncService.enqueueCreate(fix.userDTO);
+                        return true;
+                    case MISSING_LOCALLY:
+                        if (!isStillMissingLocally(fix.userDTO)) {
+                            log.info("Skipping Keycloak delete for user {}; drift no longer holds.",
+                                    fix.userDTO.getUserName());
+                            return false;
+                        }
+                        keycloakSyncService.enqueueDelete(fix.userDTO.getUserName(), fix.userDTO.getKeycloakId());
+                        return true;
+                    case ATTRIBUTES_MISMATCH:
+                        keycloakSyncService.enqueueUpdate(fix.userDTO);
+                        return true;
+                    default:
+                        return false;
+                }
+            });
+            if (Boolean.TRUE.equals(enqueued)) {
+                fixCounter.increment();
+            }
+        });
+    }
+
+    private boolean isStillMissingLocally(UserDTO userDTO) {
+
+        if (userRepository.findActiveByUserName(userDTO.getUserName()).isPresent()) {
+            return false;
+        }
+
+        return keycloakAdminClient.realm().users().search(userDTO.getUserName(), true).stream()
+                .anyMatch(user -> userDTO.getUserName().equalsIgnoreCase(user.getUsername())
+                        && Objects.equals(userDTO.getKeycloakId(), user.getId()));
+
+    }
+
+    private boolean attributesMatch(User localUser, UserRepresentation remoteUser) {
+        return Objects.equals(localUser.getFirstName(), remoteUser.getFirstName())
+                && Objects.equals(localUser.getLastName(), remoteUser.getLastName())
+                && localUser.isEnabled() == Boolean.TRUE.equals(remoteUser.isEnabled());
+    }
+
+    private UserDTO toUserDTO(User user) {
+        return mapperUtil.convert(user, UserDTO.class);
+    }
+
+    private static String key(String userName) {
+        return userName.toLowerCase(Locale.ROOT);
+    }
+
+    private class KeycloakUserPages implements Iterator<List<UserRepresentation>> {
+
+        private final UsersResource usersResource;
+        private final int pageSize = reconciliationProperties.getPageSize();
+
+        private int first;
+        private boolean lastPage;
+
+        private KeycloakUserPages(UsersResource usersResource) {
+            this.usersResource = usersResource;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !lastPage;
+        }
+
+        @Override
+        public List<UserRepresentation> next() {
+
+            if (lastPage) {
+                throw new NoSuchElementException();
+            }
+
+            RateLimiter.waitForPermission(rateLimiter);
+            List<UserRepresentation> users = usersResource.list(first, pageSize);
+            first += users.size();
+            lastPage = users.size() < pageSize;
+
+            return users.stream()
+                    .filter(user -> !user.getUsername().startsWith(reconciliationProperties.getIgnoredUserPrefix()))
+                    .collect(Collectors.toList());
+
+        }
+
+    }
+
+    private class Reconciliation {
+
+        private final Map<DriftType, Long> driftCounts = new EnumMap<>(DriftType.class);
+        private final List<Fix> fixes = new ArrayList<>();
+
+        private Reconciliation() {
+            for (DriftType driftType : DriftType.values()) {
+                driftCounts.put(driftType, 0L);
+            }
+        }
+
+        private void record(DriftType driftType, UserDTO userDTO) {
+            driftCounts.merge(driftType, 1L, Long::sum);
+            log.debug("Keycloak drift {} for user {}.", driftType, userDTO.getUserName());
+            if (reconciliationProperties.isApplyFixes() && fixes.size() < reconciliationProperties.getMaxFixes()) {
+                fixes.add(new Fix(driftType, userDTO));
+            }
+        }
+
+    }
+
+    private static class Fix {
+
+        private final DriftType driftType;
+        private final UserDTO userDTO;
+
+        private Fix(DriftType driftType, UserDTO userDTO) {
+            this.driftType = driftType;
+            this.userDTO = userDTO;
+        }
+
+    }
+
+}
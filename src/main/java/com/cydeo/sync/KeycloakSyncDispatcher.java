@@ -0,0 +1,195 @@
+package com.cydeo.sync;
+
+import com.cydeo.config.KeycloakSyncProperties;
+import com.cydeo.dto.RoleDTO;
+import com.cydeo.dto.UserDTO;
+import com.cydeo.entity.KeycloakSyncOperation;
+import com.cydeo.enums.SyncOperationType;
+import com.cydeo.enums.SyncStatus;
+import com.cydeo.repository.KeycloakSyncOperationRepository;
+import com.cydeo.repository.UserRepository;
+import com.cydeo.service.KeycloakService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Replays pending outbox operations against Keycloak. An operation can be sent more than once (a lease
+ * expires, or the commit after a successful call fails), so every call must tolerate being repeated.
+ * That guarantee comes from {@link com.cydeo.service.impl.KeycloakServiceImpl}: a create answered with
+ * 409 resolves the existing user and reconciles its role, an update overwrites all attributes, and a
+ * delete or update whose stored id answers 404 re-resolves the user by name or treats it as gone.
+ */
+@Slf4j
+@Component
+public class KeycloakSyncDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final KeycloakSyncOperationRepository keycloakSyncOperationRepository;
+    private final UserRepository userRepository;
+    private final KeycloakService keycloakService;
+    private final KeycloakSyncProperties keycloakSyncProperties;
+    private final ExecutorService keycloakExecutor;
+    private final TransactionTemplate transactionTemplate;
+
+    public KeycloakSyncDispatcher(KeycloakSyncOperationRepository keycloakSyncOperationRepository,
+                                  UserRepository userRepository, KeycloakService keycloakService, KeycloakSyncProperties keycloakSyncProperties,
+                                  @Qualifier("keycloakExecutor") ExecutorService keycloakExecutor,
+                                  TransactionTemplate transactionTemplate) {
+        this.keycloakSyncOperationRepository = keycloakSyncOperationRepository;
+        this.userRepository = userRepository;
+        this.keycloakService = keycloakService;
+        this.keycloakSyncProperties = keycloakSyncProperties;
+        this.keycloakExecutor = keycloakExecutor;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Scheduled(fixedDelayString = "${keycloak-sync.dispatch-interval:1000}")
+    public void dispatch() {
+
+        List<KeycloakSyncOperation> operations;
+
+        do {
+            operations = transactionTemplate.execute(status -> claimDueOperations());
+            if (!operations.isEmpty()) {
+                process(operations);
+            }
+        } while (operations.size() == keycloakSyncProperties.getBatchSize());
+
+    }
+
+    @Scheduled(fixedDelayString = "${keycloak-sync.cleanup-interval:3600000}")
+    public void purgeCompleted() {
+        LocalDateTime before = LocalDateTime.now().minusHours(keycloakSyncProperties.getRetention());
+        transactionTemplate.executeWithoutResult(status -> keycloakSyncOperationRepository.deleteCompletedBefore(before));
+    }
+
+    private List<KeycloakSyncOperation> claimDueOperations() {
+
+        LocalDateTime now = LocalDateTime.now();
+
+        List<KeycloakSyncOperation> operations = keycloakSyncOperationRepository
+                .findDueOperations(now, PageRequest.of(0, keycloakSyncProperties.getBatchSize()));
+
+        operations.forEach(operation -> {
+            operation.setStatus(SyncStatus.PROCESSING);
+            operation.setNextAttemptAt(now.plusSeconds(keycloakSyncProperties.getLease()));
+        });
+
+        return operations;
+
+    }
+
+    private void process(List<KeycloakSyncOperation> operations) {
+
+        Map<Long, CompletableFuture<String>> executions = new LinkedHashMap<>();
+
+        operations.forEach(operation -> executions.put(operation.getId(),
+                CompletableFuture.supplyAsync(() -> execute(operation), keycloakExecutor)));
+
+        Map<Long, String> keycloakIds = new HashMap<>();
+        Map<Long, Throwable> failures = new HashMap<>();
+
+        executions.forEach((id, execution) -> {
+            try {
+                keycloakIds.put(id, execution.join());
+            } catch (CompletionException exception) {
+                failures.put(id, exception.getCause());
+            }
+        });
+
+        transactionTemplate.executeWithoutResult(status -> keycloakSyncOperationRepository.findAllById(executions.keySet())
+                .forEach(operation -> {
+                    Throwable failure = failures.get(operation.getId());
+                    if (failure == null) {
+                        complete(operation, keycloakIds.get(operation.getId()));
+                    } else {
+                        fail(operation, failure);
+                    }
+                }));
+
+    }
+
+    private String execute(KeycloakSyncOperation operation) {
+        switch (operation.getOperationType()) {
+            case CREATE:
+                return keycloakService.userCreate(toUserDTO(operation));
+            case UPDATE:
+                return keycloakService.userUpdate(toUserDTO(operation));
+            case DELETE:
+                keycloakService.delete(operation.getUserName(), operation.getKeycloakId());
+                return operation.getKeycloakId();
+            default:
+                throw new IllegalStateException("Unknown sync operation type: " + operation.getOperationType());
+        }
+    }
+
+    private void complete(KeycloakSyncOperation operation, String keycloakId) {
+
+        operation.setStatus(SyncStatus.DONE);
+        operation.setAttempts(operation.getAttempts() + 1);
+        operation.setKeycloakId(keycloakId);
+        operation.setPassword(null);
+        operation.setLastError(null);
+
+        if (keycloakId != null && operation.getOperationType() != SyncOperationType.DELETE) {
+            userRepository.findActiveByUserName(operation.getUserName())
+                    .filter(user -> !keycloakId.equals(user.getKeycloakId()))
+                    .ifPresent(user -> user.setKeycloakId(keycloakId));
+        }
+
+    }
+
+    private void fail(KeycloakSyncOperation operation, Throwable failure) {
+
+        int attempts = operation.getAttempts() + 1;
+        String message = String.valueOf(failure.getMessage());
+
+        operation.setAttempts(attempts);
+        operation.setLastError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+
+        if (attempts >= keycloakSyncProperties.getMaxAttempts()) {
+            log.error("Keycloak {} for user {} failed after {} attempts (operation {}).", operation.getOperationType(),
+                    operation.getUserName(), attempts, operation.getId(), failure);
+            operation.setStatus(SyncStatus.FAILED);
+            operation.setPassword(null);
+            return;
+        }
+
+        long backoff = Math.min(keycloakSyncProperties.getInitialBackoff() << Math.min(attempts - 1, 30),
+                keycloakSyncProperties.getMaxBackoff());
+
+        operation.setStatus(SyncStatus.PENDING);
+        operation.setNextAttemptAt(LocalDateTime.now().plus(backoff, ChronoUnit.MILLIS));
+
+    }
+
+    private UserDTO toUserDTO(KeycloakSyncOperation operation) {
+
+        UserDTO userDTO = new UserDTO();
+        userDTO.setUserName(operation.getUserName());
+        userDTO.setKeycloakId(operation.getKeycloakId());
+        userDTO.setFirstName(operation.getFirstName());
+        userDTO.setLastName(operation.getLastName());
+        userDTO.setPassword(operation.getPassword());
+        userDTO.setRole(new RoleDTO(null, operation.getRoleDescription()));
+
+        return userDTO;
+
+    }
+
+}
@@ -1,21 +1,69 @@
 package com.cydeo.util;
 
+import com.cydeo.dto.RoleDTO;
+import com.cydeo.dto.UserDTO;
+import com.cydeo.entity.Role;
+import com.cydeo.entity.User;
+import com.cydeo.mapper.RoleMapper;
+import com.cydeo.mapper.UserMapper;
 import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
-import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
 
 @Component
 public class MapperUtil {
 
     private final ModelMapper modelMapper;
 
-    public MapperUtil(ModelMapper modelMapper) {
+    private final Map<Class<?>, Map<Class<?>, Function<Object, ?>>> registeredConverters = new HashMap<>();
+
+    private final ClassValue<Map<Class<?>, Function<Object, ?>>> convertersBySourceClass = new ClassValue<>() {
+        @Override
+        protected Map<Class<?>, Function<Object, ?>> computeValue(Class<?> sourceClass) {
+            for (Class<?> type = sourceClass; type != null; type = type.getSuperclass()) {
+                Map<Class<?>, Function<Object, ?>> converters = registeredConverters.get(type);
+                if (converters != null) {
+                    return converters;
+                }
+            }
+            return Collections.emptyMap();
+        }
+    };
+
+    public MapperUtil(ModelMapper modelMapper, UserMapper userMapper, RoleMapper roleMapper) {
         this.modelMapper = modelMapper;
+        register(User.class, UserDTO.class, userMapper::convertToDto);
+        register(UserDTO.class, User.class, userMapper::convertToEntity);
+        register(Role.class, RoleDTO.class, roleMapper::convertToDto);
+        register(RoleDTO.class, Role.class, roleMapper::convertToEntity);
     }
 
+    @SuppressWarnings("unchecked")
     public <T> T convert(Object objectToBeConverted, T convertedObject) {
-        return modelMapper.map(objectToBeConverted, (Type) convertedObject.getClass());
+        return convert(objectToBeConverted, (Class<T>) convertedObject.getClass());
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T convert(Object objectToBeConverted, Class<T> convertedClass) {
+
+        Function<Object, ?> converter = convertersBySourceClass.get(objectToBeConverted.getClass()).get(convertedClass);
+
+        if (converter != null) {
+            return (T) converter.apply(objectToBeConverted);
+        }
+
+        return modelMapper.map(objectToBeConverted, convertedClass);
+
+    }
+
+    @SuppressWarnings("unchecked")
+    private <S, T> void register(Class<S> sourceClass, Class<T> targetClass, Function<S, T> converter) {
+        registeredConverters.computeIfAbsent(sourceClass, type -> new HashMap<>())
+                .put(targetClass, (Function<Object, ?>) converter);
     }
 
 }
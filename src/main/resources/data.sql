@@ -1,39 +1,45 @@
-INSERT INTO roles(insert_date_time, insert_user_id, is_deleted, last_update_date_time, last_update_user_id, description)
-VALUES ('2022-01-05 00:00:00', 1, false, '2022-01-05 00:00:00', 1, 'Admin'),
-       ('2022-01-05 00:00:00', 1, false, '2022-01-05 00:00:00', 1, 'Manager'),
-       ('2022-01-05 00:00:00', 1, false, '2022-01-05 00:00:00', 1, 'Employee');
+CREATE INDEX IF NOT EXISTS idx_users_active_user_name ON users (user_name) WHERE is_deleted = false;
+CREATE INDEX IF NOT EXISTS idx_users_active_lower_user_name ON users (lower(user_name)) WHERE is_deleted = false;
 
-INSERT INTO users(insert_date_time, insert_user_id, last_update_date_time, last_update_user_id, is_deleted,
+INSERT INTO roles(id, insert_date_time, insert_user_id, is_deleted, last_update_date_time, last_update_user_id, description)
+VALUES (1, '2022-01-05 00:00:00', 1, false, '2022-01-05 00:00:00', 1, 'Admin'),
+       (2, '2022-01-05 00:00:00', 1, false, '2022-01-05 00:00:00', 1, 'Manager'),
+       (3, '2022-01-05 00:00:00', 1, false, '2022-01-05 00:00:00', 1, 'Employee');
+
+INSERT INTO users(id, insert_date_time, insert_user_id, last_update_date_time, last_update_user_id, is_deleted,
                   first_name, last_name, user_name, password, enabled, phone, gender, role_id)
-VALUES ('2022-01-05 00:00:00', 1, '2022-01-05 00:00:00', 1, false, 'Harold', 'Finch',
+VALUES (1, '2022-01-05 00:00:00', 1, '2022-01-05 00:00:00', 1, false, 'Harold', 'Finch',
         'haroldfinch@email.com', 'Abc1', true, '0123456789', 'MALE', 1),
-       ('2022-01-05 00:00:00', 1, '2022-01-05 00:00:00', 1, false, 'John', 'Reese',
+       (2, '2022-01-05 00:00:00', 1, '2022-01-05 00:00:00', 1, false, 'John', 'Reese',
         'johnreese@email.com', 'Abc1', true, '9876543210', 'MALE', 2),
-       ('2022-01-05 00:00:00', 1, '2022-01-05 00:00:00', 1, false, 'Lionel', 'Fusco',
+       (3, '2022-01-05 00:00:00', 1, '2022-01-05 00:00:00', 1, false, 'Lionel', 'Fusco',
         'lionelfusco@email.com', 'Abc1', true, '0987612345', 'MALE', 3),
-       ('2022-01-05 00:00:00', 1, '2022-01-05 00:00:00', 1, false, 'Sameen', 'Shaw',
+       (4, '2022-01-05 00:00:00', 1, '2022-01-05 00:00:00', 1, false, 'Sameen', 'Shaw',
         'sameenshaw@email.com', 'Abc1', true, '1234509876', 'FEMALE', 2),
-       ('2022-01-05 00:00:00', 1, '2022-01-05 00:00:00', 1, false, 'Samantha', 'Groves',
+       (5, '2022-01-05 00:00:00', 1, '2022-01-05 00:00:00', 1, false, 'Samantha', 'Groves',
         'samanthagroves@email.com', 'Abc1', true, '0192837465', 'FEMALE', 1),
-       ('2022-01-05 00:00:00', 1, '2022-01-05 00:00:00', 1, false, 'Joselyn', 'Carter',
+       (6, '2022-01-05 00:00:00', 1, '2022-01-05 00:00:00', 1, false, 'Joselyn', 'Carter',
         'joselyncarter@email.com', 'Abc1', true, '0198237645', 'FEMALE', 3),
-       ('2022-01-05 00:00:00', 1, '2022-01-05 00:00:00', 1, false, 'Carl', 'Elias',
+       (7, '2022-01-05 00:00:00', 1, '2022-01-05 00:00:00', 1, false, 'Carl', 'Elias',
         'carlelias@email.com', 'Abc1', true, '5610298473', 'MALE', 3),
-       ('2022-01-05 00:00:00', 1, '2022-01-05 00:00:00', 1, false, 'Patrick', 'Jane',
+       (8, '2022-01-05 00:00:00', 1, '2022-01-05 00:00:00', 1, false, 'Patrick', 'Jane',
         'patrickjane@email.com', 'Abc1', true, '6758492013', 'MALE', 1),
-       ('2022-01-05 00:00:00', 1, '2022-01-05 00:00:00', 1, false, 'Wayne', 'Rigsby',
+       (9, '2022-01-05 00:00:00', 1, '2022-01-05 00:00:00', 1, false, 'Wayne', 'Rigsby',
         'waynerigsby@email.com', 'Abc1', true, '0934871256', 'MALE', 3),
-       ('2022-01-05 00:00:00', 1, '2022-01-05 00:00:00', 1, false, 'Kimball', 'Cho',
+       (10, '2022-01-05 00:00:00', 1, '2022-01-05 00:00:00', 1, false, 'Kimball', 'Cho',
         'kimballcho@email.com', 'Abc1', true, '9078653124', 'MALE', 2),
-       ('2022-01-05 00:00:00', 1, '2022-01-05 00:00:00', 1, false, 'Teresa', 'Lisbon',
+       (11, '2022-01-05 00:00:00', 1, '2022-01-05 00:00:00', 1, false, 'Teresa', 'Lisbon',
         'teresalisbon@email.com', 'Abc1', true, '5674019283', 'FEMALE', 1),
-       ('2022-01-05 00:00:00', 1, '2022-01-05 00:00:00', 1, false, 'Grace', 'Van Pelt',
+       (12, '2022-01-05 00:00:00', 1, '2022-01-05 00:00:00', 1, false, 'Grace', 'Van Pelt',
         'gracevanpelt@email.com', 'Abc1', true, '1386709254', 'FEMALE', 2),
-       ('2022-01-05 00:00:00', 1, '2022-01-05 00:00:00', 1, false, 'Dennis', 'Abbott',
+       (13, '2022-01-05 00:00:00', 1, '2022-01-05 00:00:00', 1, false, 'Dennis', 'Abbott',
         'dennisabbott@email.com', 'Abc1', true, '0642871359', 'MALE', 1),
-       ('2022-01-05 00:00:00', 1, '2022-01-05 00:00:00', 1, false, 'Jason', 'Wylie',
+       (14, '2022-01-05 00:00:00', 1, '2022-01-05 00:00:00', 1, false, 'Jason', 'Wylie',
         'jasonwylie@email.com', 'Abc1', true, '9081263547', 'MALE', 2),
-       ('2022-01-05 00:00:00', 1, '2022-01-05 00:00:00', 1, false, 'Michelle', 'Vega',
+       (15, '2022-01-05 00:00:00', 1, '2022-01-05 00:00:00', 1, false, 'Michelle', 'Vega',
         'michellevega@email.com', 'Abc1', true, '0912537648', 'FEMALE', 3),
-       ('2022-01-05 00:00:00', 1, '2022-01-05 00:00:00', 1, false, 'Kim', 'Fischer',
+       (16, '2022-01-05 00:00:00', 1, '2022-01-05 00:00:00', 1, false, 'Kim', 'Fischer',
         'kimfischer@email.com', 'Abc1', true, '1209786345', 'FEMALE', 2);
+
+SELECT setval('role_seq', (SELECT MAX(id) FROM roles));
+SELECT setval('user_seq', (SELECT MAX(id) FROM users));
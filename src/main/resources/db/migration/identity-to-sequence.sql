@@ -0,0 +1,5 @@
+CREATE SEQUENCE IF NOT EXISTS role_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS user_seq START WITH 1 INCREMENT BY 50;
+
+SELECT setval('role_seq', COALESCE((SELECT MAX(id) FROM roles), 1));
+SELECT setval('user_seq', COALESCE((SELECT MAX(id) FROM users), 1));
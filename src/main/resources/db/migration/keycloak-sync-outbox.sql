@@ -0,0 +1,26 @@
+CREATE SEQUENCE IF NOT EXISTS keycloak_sync_operation_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS keycloak_sync_operations
+(
+    id                    BIGINT PRIMARY KEY,
+    operation_type        VARCHAR(255) NOT NULL,
+    user_name             VARCHAR(255) NOT NULL,
+    first_name            VARCHAR(255),
+    last_name             VARCHAR(255),
+    password              VARCHAR(255),
+    role_description      VARCHAR(255),
+    status                VARCHAR(255) NOT NULL,
+    attempts              INTEGER      NOT NULL,
+    next_attempt_at       TIMESTAMP    NOT NULL,
+    last_error            VARCHAR(1000),
+    insert_date_time      TIMESTAMP    NOT NULL,
+    insert_user_id        BIGINT       NOT NULL,
+    last_update_date_time TIMESTAMP    NOT NULL,
+    last_update_user_id   BIGINT       NOT NULL,
+    is_deleted            BOOLEAN
+);
+
+CREATE INDEX IF NOT EXISTS idx_keycloak_sync_status_next_attempt ON keycloak_sync_operations (status, next_attempt_at);
+CREATE INDEX IF NOT EXISTS idx_keycloak_sync_user_name ON keycloak_sync_operations (user_name);
+
+ALTER TABLE keycloak_sync_operations DROP COLUMN IF EXISTS idempotency_key;
@@ -0,0 +1,2 @@
+ALTER TABLE users ADD COLUMN IF NOT EXISTS keycloak_id VARCHAR(255) UNIQUE;
+ALTER TABLE keycloak_sync_operations ADD COLUMN IF NOT EXISTS keycloak_id VARCHAR(255);
@@ -0,0 +1,133 @@
+package com.cydeo.client;
+
+import com.cydeo.metrics.CallMetrics;
+import com.cydeo.support.KeycloakStub;
+import com.cydeo.support.RecordingHttpServer.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.ws.rs.ProcessingException;
+import java.io.IOException;
+
+import static com.cydeo.support.KeycloakStub.adminPath;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeycloakAdminClientTest {
+
+    private static final int POOL_SIZE = 4;
+    private static final int CALLS = 20;
+
+    private KeycloakStub keycloak;
+    private SimpleMeterRegistry meterRegistry;
+    private KeycloakAdminClient adminClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        keycloak = new KeycloakStub();
+        keycloak.getServer().on("GET", adminPath("/users/count"), request -> Response.json(200, 3));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (adminClient != null) {
+            adminClient.close();
+        }
+        keycloak.close();
+    }
+
+    @Test
+    void reusesOneMasterTokenWhileItIsValid() {
+
+        adminClient = newAdminClient(30);
+
+        for (int i = 0; i < CALLS; i++) {
+            assertThat(adminClient.realm().users().count()).isEqualTo(3);
+        }
+
+        assertThat(keycloak.countGrants("password")).isEqualTo(1);
+        assertThat(keycloak.countGrants("refresh_token")).isZero();
+        assertThat(keycloak.getServer().count("GET", adminPath("/users/count"))).isEqualTo(CALLS);
+        assertThat(meterRegistry.get("keycloak.admin.token.refreshes").functionCounter().count()).isEqualTo(1);
+
+    }
+
+    @Test
+    void refreshesTheTokenAheadOfExpiry() {
+
+        keycloak.setTokenLifespan(10);
+        adminClient = newAdminClient(30);
+
+        for (int i = 0; i < CALLS; i++) {
+            adminClient.realm().users().count();
+        }
+
+        assertThat(keycloak.countGrants("password")).isEqualTo(1);
+        assertThat(keycloak.countGrants("refresh_token")).isGreaterThanOrEqualTo(CALLS - 1);
+        assertThat(meterRegistry.get("keycloak.admin.token.refreshes").functionCounter().count())
+                .isGreaterThanOrEqualTo(CALLS);
+        assertThat(meterRegistry.get("keycloak.admin.token.refresh.failures").functionCounter().count()).isZero();
+
+    }
+
+    @Test
+    void countsFailedTokenGrants() {
+
+        keycloak.getServer().on("POST", KeycloakStub.TOKEN_PATH, request -> Response.empty(401));
+        adminClient = newAdminClient(30);
+
+        assertThatThrownBy(adminClient::realm).isInstanceOf(RuntimeException.class);
+
+        assertThat(meterRegistry.get("keycloak.admin.token.refresh.failures").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("keycloak.admin.requests").tag("operation", "token").tag("outcome", "failure")
+                .timer().count()).isEqualTo(1);
+
+    }
+
+    @Test
+    void slowAdminCallIsCutOffBySocketTimeout() {
+
+        keycloak.getServer().on("GET", adminPath("/users/count"), request -> {
+            Thread.sleep(KeycloakStub.SOCKET_TIMEOUT * 4L);
+            return Response.json(200, 3);
+        });
+        adminClient = newAdminClient(30);
+
+        long start = System.nanoTime();
+
+        assertThatThrownBy(() -> adminClient.realm().users().count()).isInstanceOf(ProcessingException.class);
+
+        assertThat((System.nanoTime() - start) / 1_000_000).isLessThan(KeycloakStub.SOCKET_TIMEOUT * 3L);
+        assertThat(meterRegistry.get("keycloak.admin.pool.leased").gauge().value()).isZero();
+
+    }
+
+    @Test
+    void sharesOneBoundedConnectionPool() {
+
+        adminClient = newAdminClient(30);
+
+        for (int i = 0; i < CALLS; i++) {
+            adminClient.realm().users().count();
+        }
+
+        assertThat(meterRegistry.get("keycloak.admin.pool.max").gauge().value()).isEqualTo(POOL_SIZE);
+        assertThat(meterRegistry.get("keycloak.admin.pool.leased").gauge().value()).isZero();
+        assertThat(meterRegistry.get("keycloak.admin.pool.pending").gauge().value()).isZero();
+        assertThat(meterRegistry.get("keycloak.admin.pool.available").gauge().value())
+                .isPositive()
+                .isLessThanOrEqualTo(POOL_SIZE);
+        assertThat(meterRegistry.get("keycloak.admin.requests").tag("operation", "token").timer().count())
+                .isEqualTo(CALLS);
+
+    }
+
+    private KeycloakAdminClient newAdminClient(long tokenMinValidity) {
+        return new KeycloakAdminClient(keycloak.properties(POOL_SIZE, tokenMinValidity), meterRegistry,
+                new CallMetrics(meterRegistry));
+    }
+
+}
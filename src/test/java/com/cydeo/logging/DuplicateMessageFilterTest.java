@@ -0,0 +1,49 @@
+package com.cydeo.logging;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.Filter.Result;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DuplicateMessageFilterTest {
+
+    private static final long START = 1_600_000_000_000L;
+    private static final String FORMAT = "Keycloak {} for user {} failed after {} attempts";
+
+    private final DuplicateMessageFilter filter = DuplicateMessageFilter.createFilter(5, 10000, 1000, null, null);
+
+    @Test
+    void eventsSharingATemplateAreNotDuplicates() {
+        for (int i = 0; i < 20; i++) {
+            assertThat(filter.filter(event(0, "user" + i + "@email.com", null))).isEqualTo(Result.NEUTRAL);
+        }
+    }
+
+    @Test
+    void identicalEventsBeyondTheLimitAreDropped() {
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(filter.filter(event(i, "john.doe@email.com", null))).isEqualTo(Result.NEUTRAL);
+        }
+
+        assertThat(filter.filter(event(5, "john.doe@email.com", null))).isEqualTo(Result.DENY);
+        assertThat(filter.filter(event(6, "john.doe@email.com", new IllegalStateException()))).isEqualTo(Result.NEUTRAL);
+        assertThat(filter.filter(event(10000, "john.doe@email.com", null))).isEqualTo(Result.NEUTRAL);
+
+    }
+
+    private static LogEvent event(long timeMillis, String userName, Throwable thrown) {
+        return Log4jLogEvent.newBuilder()
+                .setLoggerName("com.cydeo.sync.KeycloakSyncDispatcher")
+                .setLevel(Level.ERROR)
+                .setMessage(new ParameterizedMessage(FORMAT, "CREATE", userName, 10))
+                .setThrown(thrown)
+                .setTimeMillis(START + timeMillis)
+                .build();
+    }
+
+}
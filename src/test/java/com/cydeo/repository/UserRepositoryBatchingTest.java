@@ -0,0 +1,126 @@
+package com.cydeo.repository;
+
+import com.cydeo.config.CacheConfig;
+import com.cydeo.config.CachingProperties;
+import com.cydeo.config.ResilienceProperties;
+import com.cydeo.entity.Role;
+import com.cydeo.entity.User;
+import com.cydeo.enums.Gender;
+import com.cydeo.support.JdbcCallCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({CacheConfig.class, CachingProperties.class, ResilienceProperties.class,
+        UserRepositoryBatchingTest.JdbcCounting.class})
+// The JCache manager is per class loader, so the context is closed before another test builds its own.
+@DirtiesContext
+class UserRepositoryBatchingTest {
+
+    private static final int BATCH_SIZE = 50;
+    private static final int USERS = 500;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcCallCounter jdbcCallCounter;
+
+    @Test
+    void savesAreSentAsOneBatchPerBatchSizeRows() {
+
+        List<User> users = newUsers(roleRepository.getOne(2L));
+        jdbcCallCounter.clear();
+
+        userRepository.saveAll(users);
+        entityManager.flush();
+
+        long insertBatches = jdbcCallCounter.count(execution -> execution.sqlStartsWith("insert into users"));
+        long sequenceCalls = jdbcCallCounter.count(execution -> execution.sqlContains("user_seq"));
+
+        assertThat(jdbcCallCounter.count(execution -> execution.sqlStartsWith("insert into users") && !execution.isBatch()))
+                .isZero();
+        assertThat(insertBatches).isEqualTo(USERS / BATCH_SIZE);
+        assertThat(sequenceCalls).isLessThanOrEqualTo(USERS / BATCH_SIZE + 1);
+        assertThat(jdbcCallCounter.getExecutions()).hasSize((int) (insertBatches + sequenceCalls));
+
+    }
+
+    @Test
+    void updatesAreSentAsOneBatchPerBatchSizeRows() {
+
+        List<User> users = userRepository.saveAll(newUsers(roleRepository.getOne(3L)));
+        entityManager.flush();
+        jdbcCallCounter.clear();
+
+        users.forEach(user -> user.setFirstName("Updated"));
+        entityManager.flush();
+
+        assertThat(jdbcCallCounter.count(execution -> execution.sqlStartsWith("update users") && execution.isBatch()))
+                .isEqualTo(USERS / BATCH_SIZE);
+        assertThat(jdbcCallCounter.getExecutions()).hasSize(USERS / BATCH_SIZE);
+
+    }
+
+    private List<User> newUsers(Role role) {
+        return IntStream.range(0, USERS)
+                .mapToObj(i -> {
+                    User user = new User();
+                    user.setFirstName("Batch");
+                    user.setLastName("User");
+                    user.setUserName("batch.user" + i + "@email.com");
+                    user.setPassword("Abc1");
+                    user.setPhone("0123456789");
+                    user.setGender(Gender.FEMALE);
+                    user.setEnabled(true);
+                    user.setRole(role);
+                    return user;
+                })
+                .collect(Collectors.toList());
+    }
+
+    @TestConfiguration
+    static class JdbcCounting {
+
+        @Bean
+        static JdbcCallCounter jdbcCallCounter() {
+            return new JdbcCallCounter();
+        }
+
+        @Bean
+        static BeanPostProcessor countingDataSourcePostProcessor(JdbcCallCounter jdbcCallCounter) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource ? jdbcCallCounter.wrap((DataSource) bean) : bean;
+                }
+            };
+        }
+
+    }
+
+}
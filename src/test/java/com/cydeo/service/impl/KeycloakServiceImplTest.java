@@ -0,0 +1,231 @@
+package com.cydeo.service.impl;
+
+import com.cydeo.cache.KeycloakClientCache;
+import com.cydeo.cache.KeycloakUserIdCache;
+import com.cydeo.client.KeycloakAdminClient;
+import com.cydeo.config.CacheConfig;
+import com.cydeo.config.KeycloakProperties;
+import com.cydeo.dto.RoleDTO;
+import com.cydeo.dto.UserDTO;
+import com.cydeo.metrics.CallMetrics;
+import com.cydeo.support.KeycloakStub;
+import com.cydeo.support.RecordingHttpServer;
+import com.cydeo.support.RecordingHttpServer.RecordedRequest;
+import com.cydeo.support.RecordingHttpServer.Response;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.keycloak.representations.idm.ClientRepresentation;
+import org.keycloak.representations.idm.RoleRepresentation;
+import org.keycloak.representations.idm.UserRepresentation;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.cydeo.support.KeycloakStub.adminPath;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class KeycloakServiceImplTest {
+
+    private static final String CLIENT_UUID = "ticketing-app-uuid";
+    private static final String USER_ID = "keycloak-user-1";
+    private static final String ROLE_MAPPINGS = adminPath("/users/" + USER_ID + "/role-mappings/clients/" + CLIENT_UUID);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, RoleRepresentation> clientRoles = new ConcurrentHashMap<>();
+    private final List<RoleRepresentation> assignedRoles = new CopyOnWriteArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private KeycloakStub keycloak;
+    private RecordingHttpServer server;
+    private KeycloakAdminClient adminClient;
+    private KeycloakServiceImpl keycloakService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws IOException {
+
+        Stream.of("Admin", "Manager", "Employee").forEach(roleName -> {
+            RoleRepresentation role = new RoleRepresentation(roleName, null, false);
+            role.setId(roleName.toLowerCase() + "-id");
+            role.setClientRole(true);
+            role.setContainerId(CLIENT_UUID);
+            clientRoles.put(roleName, role);
+        });
+
+        keycloak = new KeycloakStub();
+        server = keycloak.getServer();
+
+        ClientRepresentation client = new ClientRepresentation();
+        client.setId(CLIENT_UUID);
+        client.setClientId(KeycloakStub.CLIENT_ID);
+
+        server.on("GET", adminPath("/clients"), request -> Response.json(200, List.of(client)))
+                .on("GET", adminPath("/clients/" + CLIENT_UUID + "/roles"),
+                        request -> Response.json(200, clientRoles.values()))
+                .on("GET", adminPath("/clients/" + CLIENT_UUID + "/roles/([^/]+)"),
+                        request -> Response.json(200, clientRoles.get(lastSegment(request))))
+                .on("GET", ROLE_MAPPINGS, request -> Response.json(200, assignedRoles))
+                .on("POST", ROLE_MAPPINGS, request -> {
+                    assignedRoles.addAll(readRoles(request));
+                    return Response.empty(204);
+                })
+                .on("DELETE", ROLE_MAPPINGS, request -> {
+                    List<String> removed = roleNames(readRoles(request));
+                    assignedRoles.removeIf(role -> removed.contains(role.getName()));
+                    return Response.empty(204);
+                })
+                .on("POST", adminPath("/users"), request -> Response.empty(201)
+                        .header("Location", server.getUrl() + adminPath("/users/" + USER_ID)))
+                .on("PUT", adminPath("/users/" + USER_ID), request -> Response.empty(204))
+                .on("PUT", adminPath("/users/" + USER_ID + "/reset-password"), request -> Response.empty(204));
+
+        KeycloakProperties keycloakProperties = keycloak.properties(4, 30);
+
+        CacheManager cacheManager = mock(CacheManager.class);
+        when(cacheManager.getCache(CacheConfig.KEYCLOAK_USER_ID_CACHE, String.class, String.class))
+                .thenReturn(mock(Cache.class));
+
+        adminClient = new KeycloakAdminClient(keycloakProperties, meterRegistry, new CallMetrics(meterRegistry));
+        keycloakService = new KeycloakServiceImpl(keycloakProperties, adminClient,
+                new KeycloakClientCache(keycloakProperties, new CallMetrics(meterRegistry)), new KeycloakUserIdCache(cacheManager),
+                new CallMetrics(meterRegistry));
+
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        adminClient.close();
+        keycloak.close();
+    }
+
+    @Test
+    void unchangedRoleSendsNoRoleMappingWrites() {
+
+        assignedRoles.add(clientRoles.get("Manager"));
+
+        keycloakService.userUpdate(userDTO("Manager"));
+
+        assertThat(server.count("GET", ROLE_MAPPINGS)).isEqualTo(1);
+        assertThat(server.count("DELETE", ROLE_MAPPINGS)).isZero();
+        assertThat(server.count("POST", ROLE_MAPPINGS)).isZero();
+        assertThat(server.count("PUT", adminPath("/users/" + USER_ID))).isEqualTo(1);
+
+    }
+
+    @Test
+    void changedRoleSendsOneBatchedRemoveAndOneAdd() throws IOException {
+
+        assignedRoles.add(clientRoles.get("Manager"));
+        assignedRoles.add(clientRoles.get("Employee"));
+
+        keycloakService.userUpdate(userDTO("Admin"));
+
+        assertThat(server.count("DELETE", ROLE_MAPPINGS)).isEqualTo(1);
+        assertThat(server.count("POST", ROLE_MAPPINGS)).isEqualTo(1);
+        assertThat(roleNames(readRoles(lastRequest("DELETE")))).containsExactlyInAnyOrder("Manager", "Employee");
+        assertThat(roleNames(readRoles(lastRequest("POST")))).containsExactly("Admin");
+        assertThat(roleNames(assignedRoles)).containsExactly("Admin");
+
+    }
+
+    @Test
+    void createdUserGetsItsRoleWithoutListingMappings() throws IOException {
+
+        assertThat(keycloakService.userCreate(userDTO("Manager"))).isEqualTo(USER_ID);
+
+        assertThat(server.count("GET", ROLE_MAPPINGS)).isZero();
+        assertThat(server.count("DELETE", ROLE_MAPPINGS)).isZero();
+        assertThat(server.count("POST", ROLE_MAPPINGS)).isEqualTo(1);
+        assertThat(roleNames(readRoles(lastRequest("POST")))).containsExactly("Manager");
+
+    }
+
+    @Test
+    void retriedCreateReconcilesTheExistingRoles() {
+
+        UserRepresentation existingUser = new UserRepresentation();
+        existingUser.setId(USER_ID);
+        existingUser.setUsername("johnreese@email.com");
+
+        server.on("POST", adminPath("/users"), request -> Response.empty(409))
+                .on("GET", adminPath("/users"), request -> Response.json(200, List.of(existingUser)));
+        assignedRoles.add(clientRoles.get("Manager"));
+
+        assertThat(keycloakService.userCreate(userDTO("Manager"))).isEqualTo(USER_ID);
+
+        assertThat(server.count("GET", ROLE_MAPPINGS)).isEqualTo(1);
+        assertThat(server.count("DELETE", ROLE_MAPPINGS)).isZero();
+        assertThat(server.count("POST", ROLE_MAPPINGS)).isZero();
+
+    }
+
+    @Test
+    void repeatedUpdatesReuseTheCachedClientAndRoles() {
+
+        assignedRoles.add(clientRoles.get("Employee"));
+
+        keycloakService.userUpdate(userDTO("Manager"));
+        keycloakService.userUpdate(userDTO("Manager"));
+        keycloakService.userUpdate(userDTO("Manager"));
+
+        assertThat(server.count("GET", adminPath("/clients"))).isEqualTo(1);
+        assertThat(server.count("GET", adminPath("/clients/" + CLIENT_UUID + "/roles"))).isEqualTo(1);
+        assertThat(server.count("GET", adminPath("/clients/" + CLIENT_UUID + "/roles/[^/]+"))).isZero();
+        assertThat(server.count("DELETE", ROLE_MAPPINGS)).isEqualTo(1);
+        assertThat(server.count("POST", ROLE_MAPPINGS)).isEqualTo(1);
+        assertThat(adminRequests("client-lookup")).isEqualTo(1);
+        assertThat(adminRequests("client-role-list")).isEqualTo(1);
+
+    }
+
+    private long adminRequests(String operation) {
+        return meterRegistry.get("keycloak.admin.requests").tag("operation", operation).timer().count();
+    }
+
+    private UserDTO userDTO(String role) {
+
+        UserDTO userDTO = new UserDTO();
+        userDTO.setKeycloakId(USER_ID);
+        userDTO.setUserName("johnreese@email.com");
+        userDTO.setFirstName("John");
+        userDTO.setLastName("Reese");
+        userDTO.setRole(new RoleDTO(null, role));
+
+        return userDTO;
+
+    }
+
+    private RecordedRequest lastRequest(String method) {
+        return server.getRequests().stream()
+                .filter(request -> request.getMethod().equals(method) && request.getPath().equals(ROLE_MAPPINGS))
+                .reduce((first, second) -> second)
+                .orElseThrow();
+    }
+
+    private List<RoleRepresentation> readRoles(RecordedRequest request) throws IOException {
+        return objectMapper.readValue(request.getBody(), new TypeReference<List<RoleRepresentation>>() {
+        });
+    }
+
+    private static List<String> roleNames(List<RoleRepresentation> roles) {
+        return roles.stream().map(RoleRepresentation::getName).collect(Collectors.toList());
+    }
+
+    private static String lastSegment(RecordedRequest request) {
+        return request.getPath().substring(request.getPath().lastIndexOf('/') + 1);
+    }
+
+}
@@ -0,0 +1,233 @@
+package com.cydeo.service.impl;
+
+import com.cydeo.client.ServiceTokenProvider;
+import com.cydeo.config.CacheConfig;
+import com.cydeo.dto.ProjectResponseDTO;
+import com.cydeo.dto.TaskResponseDTO;
+import com.cydeo.exception.ProjectCountNotRetrievedException;
+import com.cydeo.service.UserConnectionService;
+import com.cydeo.support.RecordingHttpServer;
+import com.cydeo.support.RecordingHttpServer.Handler;
+import com.cydeo.support.RecordingHttpServer.Response;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.cache.CacheManager;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = {
+        "resilience.circuit-breaker.sliding-window-size=4",
+        "resilience.circuit-breaker.minimum-number-of-calls=4",
+        "resilience.circuit-breaker.failure-rate-threshold=50",
+        "resilience.circuit-breaker.wait-duration-in-open-state=60000",
+        "resilience.bulkhead.max-concurrent-calls=2",
+        "feign.client.config.default.readTimeout=" + UserConnectionServiceImplTest.READ_TIMEOUT
+})
+@ActiveProfiles("test")
+// The JCache manager is per class loader, so the context is closed before another test builds its own.
+@DirtiesContext
+class UserConnectionServiceImplTest {
+
+    static final long READ_TIMEOUT = 500;
+
+    private static final String USER_NAME = "johnreese@email.com";
+    private static final String PROJECT_COUNT = "/api/v1/project/count/manager/.+";
+    private static final String TASK_COUNT = "/api/v1/task/count/employee/.+";
+
+    private static RecordingHttpServer projectService;
+    private static RecordingHttpServer taskService;
+    private static volatile Handler projectResponse;
+    private static volatile Handler taskResponse;
+
+    @Autowired
+    private UserConnectionService userConnectionService;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired
+    private CacheManager jCacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private ServiceTokenProvider serviceTokenProvider;
+
+    @BeforeAll
+    static void startDownstreamServices() throws IOException {
+        projectService = new RecordingHttpServer().on("GET", PROJECT_COUNT, request -> projectResponse.handle(request));
+        taskService = new RecordingHttpServer().on("GET", TASK_COUNT, request -> taskResponse.handle(request));
+    }
+
+    @AfterAll
+    static void stopDownstreamServices() {
+        projectService.close();
+        taskService.close();
+    }
+
+    @DynamicPropertySource
+    static void downstreamUrls(DynamicPropertyRegistry registry) {
+        registry.add("clients.project-service.url", () -> projectService.getUrl());
+        registry.add("clients.task-service.url", () -> taskService.getUrl());
+    }
+
+    @BeforeEach
+    void setUp() {
+
+        when(serviceTokenProvider.getAuthorizationHeader()).thenReturn("Bearer service-token");
+
+        projectResponse = request -> projectCount(0);
+        taskResponse = request -> taskCount(0);
+
+        circuitBreakerRegistry.circuitBreaker("project-service").reset();
+        circuitBreakerRegistry.circuitBreaker("task-service").reset();
+        jCacheManager.getCache(CacheConfig.CONNECTION_COUNT_FALLBACK_CACHE).clear();
+        projectService.clearRequests();
+        taskService.clearRequests();
+
+    }
+
+    @Test
+    void failingBackendOpensTheBreakerAndFailsFast() {
+
+        projectResponse = request -> Response.json(500, new ProjectResponseDTO(false, null, "Unavailable", null));
+
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> userConnectionService.checkUserConnections("Manager", USER_NAME))
+                    .isInstanceOf(ProjectCountNotRetrievedException.class);
+        }
+
+        assertThat(circuitBreakerRegistry.circuitBreaker("project-service").getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        for (int i = 0; i < 10; i++) {
+            assertThatThrownBy(() -> userConnectionService.checkUserConnections("Manager", USER_NAME))
+                    .isInstanceOf(ProjectCountNotRetrievedException.class);
+        }
+
+        assertThat(projectService.count("GET", PROJECT_COUNT)).isEqualTo(4);
+        assertThat(circuitBreakerRegistry.circuitBreaker("task-service").getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        userConnectionService.checkUserConnections("Employee", USER_NAME);
+        assertThat(taskService.count("GET", TASK_COUNT)).isEqualTo(1);
+
+    }
+
+    @Test
+    void slowBackendIsCutOffThenFailsWithoutWaiting() {
+
+        projectResponse = request -> {
+            Thread.sleep(READ_TIMEOUT * 3);
+            return projectCount(0);
+        };
+
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> userConnectionService.checkUserConnections("Manager", USER_NAME))
+                    .isInstanceOf(ProjectCountNotRetrievedException.class);
+        }
+
+        long start = System.nanoTime();
+
+        assertThatThrownBy(() -> userConnectionService.checkUserConnections("Manager", USER_NAME))
+                .isInstanceOf(ProjectCountNotRetrievedException.class);
+
+        assertThat((System.nanoTime() - start) / 1_000_000).isLessThan(READ_TIMEOUT / 5);
+        assertThat(projectService.count("GET", PROJECT_COUNT)).isEqualTo(4);
+
+    }
+
+    @Test
+    void failedLookupFallsBackToTheLastKnownCount() {
+
+        projectResponse = request -> projectCount(3);
+
+        assertThat(userConnectionService.countUserConnectionsAsync("Manager", USER_NAME).join()).isEqualTo(3);
+
+        projectResponse = request -> Response.json(500, new ProjectResponseDTO(false, null, "Unavailable", null));
+
+        assertThat(userConnectionService.countUserConnectionsAsync("Manager", USER_NAME).join()).isEqualTo(3);
+        assertThat(projectService.count("GET", PROJECT_COUNT)).isEqualTo(2);
+
+    }
+
+    @Test
+    void bulkheadLimitsConcurrentCalls() {
+
+        projectResponse = request -> {
+            Thread.sleep(READ_TIMEOUT / 2);
+            return projectCount(0);
+        };
+
+        List<CompletableFuture<Integer>> counts = IntStream.range(0, 6)
+                .mapToObj(i -> userConnectionService.countUserConnectionsAsync("Manager", USER_NAME))
+                .collect(Collectors.toList());
+
+        long rejected = counts.stream()
+                .filter(count -> {
+                    try {
+                        count.join();
+                        return false;
+                    } catch (CompletionException exception) {
+                        return exception.getCause() instanceof ProjectCountNotRetrievedException;
+                    }
+                })
+                .count();
+
+        assertThat(projectService.getMaxInFlight()).isLessThanOrEqualTo(2);
+        assertThat(rejected).isPositive();
+        assertThat(projectService.count("GET", PROJECT_COUNT)).isEqualTo(counts.size() - rejected);
+        assertThat(circuitBreakerRegistry.circuitBreaker("project-service").getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+    }
+
+    @Test
+    void breakerStateIsExposedAsMetrics() {
+
+        projectResponse = request -> Response.json(500, new ProjectResponseDTO(false, null, "Unavailable", null));
+
+        for (int i = 0; i < 6; i++) {
+            assertThatThrownBy(() -> userConnectionService.checkUserConnections("Manager", USER_NAME))
+                    .isInstanceOf(ProjectCountNotRetrievedException.class);
+        }
+
+        assertThat(meterRegistry.get("resilience4j.circuitbreaker.state")
+                .tag("name", "project-service").tag("state", "open").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("resilience4j.circuitbreaker.state")
+                .tag("name", "task-service").tag("state", "closed").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("resilience4j.circuitbreaker.not.permitted.calls")
+                .tag("name", "project-service").meter().measure().iterator().next().getValue()).isEqualTo(2);
+        assertThat(meterRegistry.get("resilience4j.bulkhead.max.allowed.concurrent.calls")
+                .tag("name", "project-service").gauge().value()).isEqualTo(2);
+
+    }
+
+    private static Response projectCount(int count) {
+        return Response.json(200, new ProjectResponseDTO(true, null, "Project count is retrieved.", count));
+    }
+
+    private static Response taskCount(int count) {
+        return Response.json(200, new TaskResponseDTO(true, null, "Task count is retrieved.", count));
+    }
+
+}
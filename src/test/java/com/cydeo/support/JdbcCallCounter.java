@@ -0,0 +1,109 @@
+package com.cydeo.support;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+
+/**
+ * Wraps a {@link DataSource} and records every statement execution, so tests can count the JDBC
+ * round trips an operation made. One {@code executeBatch} is one round trip however many rows it
+ * carries.
+ */
+public class JdbcCallCounter {
+
+    private final List<Execution> executions = new CopyOnWriteArrayList<>();
+
+    public DataSource wrap(DataSource dataSource) {
+        return proxy(DataSource.class, dataSource, (method, result, args) ->
+                result instanceof Connection ? wrap((Connection) result) : result);
+    }
+
+    public List<Execution> getExecutions() {
+        return List.copyOf(executions);
+    }
+
+    public long count(Predicate<Execution> filter) {
+        return executions.stream().filter(filter).count();
+    }
+
+    public void clear() {
+        executions.clear();
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, connection, (method, result, args) ->
+                result instanceof Statement ? wrap((Statement) result, sqlArgument(args)) : result);
+    }
+
+    private Statement wrap(Statement statement, String preparedSql) {
+
+        Class<? extends Statement> type = statement instanceof CallableStatement ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class
+                : Statement.class;
+
+        return proxy(type, statement, (method, result, args) -> {
+            if (method.getName().startsWith("execute")) {
+                String sql = sqlArgument(args);
+                executions.add(new Execution(method.getName(), sql != null ? sql : preparedSql));
+            }
+            return result;
+        });
+
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<? extends T> type, T target, ResultHandler resultHandler) {
+        return (T) Proxy.newProxyInstance(JdbcCallCounter.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    try {
+                        return resultHandler.handle(method, method.invoke(target, args), args);
+                    } catch (InvocationTargetException exception) {
+                        throw exception.getCause();
+                    }
+                });
+    }
+
+    private static String sqlArgument(Object[] args) {
+        return args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+    }
+
+    @FunctionalInterface
+    private interface ResultHandler {
+
+        Object handle(Method method, Object result, Object[] args);
+
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Execution {
+
+        private final String method;
+        private final String sql;
+
+        public boolean isBatch() {
+            return "executeBatch".equals(method) || "executeLargeBatch".equals(method);
+        }
+
+        public boolean sqlStartsWith(String prefix) {
+            return sql != null && sql.trim().toLowerCase().startsWith(prefix);
+        }
+
+        public boolean sqlContains(String fragment) {
+            return sql != null && sql.toLowerCase().contains(fragment);
+        }
+
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.cydeo.support;
+
+import com.cydeo.config.KeycloakProperties;
+import com.cydeo.support.RecordingHttpServer.Response;
+import org.keycloak.representations.AccessTokenResponse;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stub Keycloak server that issues master realm tokens. Tests register the admin API routes they
+ * need on {@link #getServer()}.
+ */
+public class KeycloakStub implements AutoCloseable {
+
+    public static final String REALM = "cydeo-dev";
+    public static final String CLIENT_ID = "ticketing-app";
+    public static final String MASTER_REALM = "master";
+    public static final String TOKEN_PATH = "/auth/realms/" + MASTER_REALM + "/protocol/openid-connect/token";
+    public static final int SOCKET_TIMEOUT = 500;
+
+    private final RecordingHttpServer server;
+    private final AtomicInteger issuedTokens = new AtomicInteger();
+
+    private volatile long tokenLifespan = 300;
+
+    public KeycloakStub() throws IOException {
+        server = new RecordingHttpServer();
+        server.on("POST", TOKEN_PATH, request -> Response.json(200, tokenResponse()));
+    }
+
+    public static String adminPath(String path) {
+        return "/auth/admin/realms/" + REALM + path;
+    }
+
+    public RecordingHttpServer getServer() {
+        return server;
+    }
+
+    public void setTokenLifespan(long tokenLifespan) {
+        this.tokenLifespan = tokenLifespan;
+    }
+
+    public long countGrants(String grantType) {
+        return server.getRequests().stream()
+                .filter(request -> request.getPath().equals(TOKEN_PATH))
+                .filter(request -> request.getBody().contains("grant_type=" + grantType))
+                .count();
+    }
+
+    public KeycloakProperties properties(int poolSize, long tokenMinValidity) {
+
+        KeycloakProperties keycloakProperties = new KeycloakProperties();
+        keycloakProperties.setAuthServerUrl(server.getUrl() + "/auth");
+        keycloakProperties.setRealm(REALM);
+        keycloakProperties.setClientId(CLIENT_ID);
+        keycloakProperties.setMasterRealm(MASTER_REALM);
+        keycloakProperties.setMasterUser("admin");
+        keycloakProperties.setMasterUserPswd("admin");
+        keycloakProperties.setMasterClient("master-client");
+        keycloakProperties.setPoolSize(poolSize);
+        keycloakProperties.setPoolMaxPerRoute(poolSize);
+        keycloakProperties.setPoolConnectionTtl(60);
+        keycloakProperties.setPoolConnectTimeout(2000);
+        keycloakProperties.setPoolSocketTimeout(SOCKET_TIMEOUT);
+        keycloakProperties.setPoolConnectionRequestTimeout(2000);
+        keycloakProperties.setTokenMinValidity(tokenMinValidity);
+        keycloakProperties.setClientCacheTtl(300);
+
+        return keycloakProperties;
+
+    }
+
+    @Override
+    public void close() {
+        server.close();
+    }
+
+    private AccessTokenResponse tokenResponse() {
+
+        AccessTokenResponse tokenResponse = new AccessTokenResponse();
+        tokenResponse.setToken("access-token-" + issuedTokens.incrementAndGet());
+        tokenResponse.setExpiresIn(tokenLifespan);
+        tokenResponse.setRefreshToken("refresh-token-" + issuedTokens.get());
+        tokenResponse.setRefreshExpiresIn(tokenLifespan * 6);
+        tokenResponse.setTokenType("Bearer");
+
+        return tokenResponse;
+
+    }
+
+}
@@ -0,0 +1,201 @@
+package com.cydeo.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Local HTTP server for tests. Requests are matched against registered routes by method and path
+ * pattern, and every request is recorded so tests can assert on the calls a client made.
+ */
+public class RecordingHttpServer implements AutoCloseable {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Route> routes = new CopyOnWriteArrayList<>();
+    private final List<RecordedRequest> requests = new CopyOnWriteArrayList<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public RecordingHttpServer() throws IOException {
+        executor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::dispatch);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public String getUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Registers a handler for requests whose method and path match. Later registrations take
+     * precedence, so a test can override a default route.
+     */
+    public RecordingHttpServer on(String method, String pathPattern, Handler handler) {
+        routes.add(0, new Route(method, Pattern.compile(pathPattern), handler));
+        return this;
+    }
+
+    public List<RecordedRequest> getRequests() {
+        return List.copyOf(requests);
+    }
+
+    public long count(String method, String pathPattern) {
+        Pattern pattern = Pattern.compile(pathPattern);
+        return requests.stream()
+                .filter(request -> request.getMethod().equals(method) && pattern.matcher(request.getPath()).matches())
+                .count();
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight.get();
+    }
+
+    public void clearRequests() {
+        requests.clear();
+        maxInFlight.set(0);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void dispatch(HttpExchange exchange) {
+
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+
+        try {
+
+            RecordedRequest request;
+
+            try (InputStream requestBody = exchange.getRequestBody()) {
+                request = new RecordedRequest(exchange.getRequestMethod(), exchange.getRequestURI().getPath(),
+                        exchange.getRequestURI().getRawQuery(), new String(requestBody.readAllBytes(), StandardCharsets.UTF_8));
+            }
+
+            requests.add(request);
+
+            Response response = Response.empty(404);
+
+            for (Route route : routes) {
+                if (route.matches(request)) {
+                    response = route.handler.handle(request);
+                    break;
+                }
+            }
+
+            inFlight.decrementAndGet();
+            respond(exchange, response);
+
+        } catch (Exception exception) {
+            inFlight.decrementAndGet();
+            try {
+                respond(exchange, Response.empty(500));
+            } catch (IOException ignored) {
+            }
+        } finally {
+            exchange.close();
+        }
+
+    }
+
+    private void respond(HttpExchange exchange, Response response) throws IOException {
+
+        response.headers.forEach((name, value) -> exchange.getResponseHeaders().set(name, value));
+
+        if (response.body == null) {
+            exchange.sendResponseHeaders(response.status, -1);
+            return;
+        }
+
+        byte[] bytes = objectMapper.writeValueAsBytes(response.body);
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(response.status, bytes.length);
+
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(bytes);
+        }
+
+    }
+
+    @FunctionalInterface
+    public interface Handler {
+
+        Response handle(RecordedRequest request) throws Exception;
+
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class RecordedRequest {
+
+        private final String method;
+        private final String path;
+        private final String query;
+        private final String body;
+
+    }
+
+    public static class Response {
+
+        private final int status;
+        private final Object body;
+        private final Map<String, String> headers = new LinkedHashMap<>();
+
+        private Response(int status, Object body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        public static Response json(int status, Object body) {
+            return new Response(status, body);
+        }
+
+        public static Response empty(int status) {
+            return new Response(status, null);
+        }
+
+        public Response header(String name, String value) {
+            headers.put(name, value);
+            return this;
+        }
+
+    }
+
+    @AllArgsConstructor
+    private static class Route {
+
+        private final String method;
+        private final Pattern pathPattern;
+        private final Handler handler;
+
+        private boolean matches(RecordedRequest request) {
+            return method.equals(request.getMethod()) && pathPattern.matcher(request.getPath()).matches();
+        }
+
+    }
+
+}
@@ -0,0 +1,172 @@
+package com.cydeo.sync;
+
+import com.cydeo.client.KeycloakAdminClient;
+import com.cydeo.config.ReconciliationProperties;
+import com.cydeo.entity.Role;
+import com.cydeo.entity.User;
+import com.cydeo.enums.DriftType;
+import com.cydeo.enums.Gender;
+import com.cydeo.mapper.RoleMapper;
+import com.cydeo.mapper.UserMapper;
+import com.cydeo.repository.KeycloakSyncOperationRepository;
+import com.cydeo.repository.UserRepository;
+import com.cydeo.service.KeycloakSyncService;
+import com.cydeo.util.MapperUtil;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.keycloak.admin.client.resource.RealmResource;
+import org.keycloak.admin.client.resource.UsersResource;
+import org.keycloak.representations.idm.UserRepresentation;
+import org.modelmapper.ModelMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class KeycloakReconciliationJobTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final KeycloakSyncOperationRepository keycloakSyncOperationRepository = mock(KeycloakSyncOperationRepository.class);
+    private final UsersResource usersResource = mock(UsersResource.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final List<User> localUsers = new ArrayList<>();
+    private final List<UserRepresentation> remoteUsers = new ArrayList<>();
+
+    private KeycloakReconciliationJob reconciliationJob;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+
+        KeycloakAdminClient keycloakAdminClient = mock(KeycloakAdminClient.class);
+        RealmResource realmResource = mock(RealmResource.class);
+        when(keycloakAdminClient.realm()).thenReturn(realmResource);
+        when(realmResource.users()).thenReturn(usersResource);
+
+        when(usersResource.list(anyInt(), anyInt())).thenAnswer(invocation -> {
+            int first = invocation.getArgument(0);
+            int max = invocation.getArgument(1);
+            return new ArrayList<>(remoteUsers.subList(Math.min(first, remoteUsers.size()),
+                    Math.min(first + max, remoteUsers.size())));
+        });
+        when(userRepository.findAllActiveByLowerCaseUserNames(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> userNames = invocation.getArgument(0);
+            return localUsers.stream()
+                    .filter(user -> userNames.contains(user.getUserName().toLowerCase(Locale.ROOT)))
+                    .collect(Collectors.toList());
+        });
+        when(userRepository.streamAllActive()).thenAnswer(invocation -> localUsers.stream());
+        when(keycloakSyncOperationRepository.findUnfinishedUserNames()).thenReturn(List.of());
+
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        ReconciliationProperties reconciliationProperties = new ReconciliationProperties();
+        reconciliationProperties.setPageSize(2);
+        reconciliationProperties.setMaxFixes(100);
+        reconciliationProperties.setRequestsPerSecond(1000);
+        reconciliationProperties.setRateLimitTimeout(1);
+        reconciliationProperties.setIgnoredUserPrefix("service-account-");
+
+        RoleMapper roleMapper = new RoleMapper();
+
+        reconciliationJob = new KeycloakReconciliationJob(userRepository, keycloakSyncOperationRepository,
+                mock(KeycloakSyncService.class), keycloakAdminClient, reconciliationProperties,
+                new MapperUtil(new ModelMapper(), new UserMapper(roleMapper), roleMapper), mock(EntityManager.class),
+                transactionManager, RateLimiterRegistry.ofDefaults(), meterRegistry);
+
+    }
+
+    @Test
+    void toleratesKeycloakCollationOrder() {
+
+        // en_US collation ignores punctuation, so Keycloak lists johna@x before john.doe@x; C order is the reverse.
+        localUsers.add(localUser("john.doe@x", "John", "Doe"));
+        localUsers.add(localUser("johna@x", "John", "A"));
+        localUsers.add(localUser("john_b@x", "John", "B"));
+        remoteUsers.add(remoteUser("johna@x", "John", "A"));
+        remoteUsers.add(remoteUser("john.doe@x", "John", "Doe"));
+        remoteUsers.add(remoteUser("john_b@x", "John", "B"));
+
+        reconciliationJob.reconcile();
+
+        assertThat(meterRegistry.get("keycloak.reconciliation.duration").tag("outcome", "success").timer().count())
+                .isEqualTo(1);
+        for (DriftType driftType : DriftType.values()) {
+            assertThat(drift(driftType)).as(driftType.name()).isZero();
+        }
+
+    }
+
+    @Test
+    void reportsDriftRegardlessOfOrder() {
+
+        localUsers.add(localUser("john.doe@x", "John", "Doe"));
+        localUsers.add(localUser("Johna@x", "John", "A"));
+        localUsers.add(localUser("local.only@x", "Local", "Only"));
+        remoteUsers.add(remoteUser("remote.only@x", "Remote", "Only"));
+        remoteUsers.add(remoteUser("johna@x", "John", "Renamed"));
+        remoteUsers.add(remoteUser("service-account-ticketing-app", null, null));
+        remoteUsers.add(remoteUser("john.doe@x", "John", "Doe"));
+        remoteUsers.add(remoteUser("john.doe@x", "John", "Doe"));
+
+        reconciliationJob.reconcile();
+
+        assertThat(drift(DriftType.MISSING_IN_KEYCLOAK)).isEqualTo(1);
+        assertThat(drift(DriftType.MISSING_LOCALLY)).isEqualTo(1);
+        assertThat(drift(DriftType.ATTRIBUTES_MISMATCH)).isEqualTo(1);
+
+    }
+
+    private double drift(DriftType driftType) {
+        return meterRegistry.get("keycloak.reconciliation.drift").tag("type", driftType.name()).gauge().value();
+    }
+
+    private static User localUser(String userName, String firstName, String lastName) {
+
+        Role role = new Role();
+        role.setDescription("Employee");
+
+        User user = new User();
+        user.setUserName(userName);
+        user.setFirstName(firstName);
+        user.setLastName(lastName);
+        user.setPassword("Abc1");
+        user.setPhone("0123456789");
+        user.setGender(Gender.MALE);
+        user.setEnabled(true);
+        user.setRole(role);
+
+        return user;
+
+    }
+
+    private static UserRepresentation remoteUser(String userName, String firstName, String lastName) {
+
+        UserRepresentation user = new UserRepresentation();
+        user.setId("id-" + userName);
+        user.setUsername(userName);
+        user.setFirstName(firstName);
+        user.setLastName(lastName);
+        user.setEnabled(true);
+
+        return user;
+
+    }
+
+}